@@ -8,6 +8,7 @@ plugins {
     id("checkstyle")
     id("com.github.spotbugs") version "6.4.5"
     id("net.ltgt.errorprone") version "4.1.0"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "org.example"
@@ -126,4 +127,11 @@ tasks.withType<JavaCompile>().configureEach {
 
 tasks.test {
     useJUnitPlatform()
+}
+
+// ✅ JMH micro-benchmarks live in src/jmh/java, run with ./gradlew jmh
+jmh {
+    jmhVersion.set("1.37")
+    includes.set(listOf(project.findProperty("jmhIncludes")?.toString() ?: ".*"))
+    project.findProperty("artworkFile")?.let { jvmArgsAppend.add("-Dartwork.file=$it") }
 }
\ No newline at end of file
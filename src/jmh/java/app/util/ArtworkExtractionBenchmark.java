@@ -0,0 +1,103 @@
+package app.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a track's artwork through jaudiotagger, as playSong used to, with the
+ * seeking extractor. Pass a real file with {@code ./gradlew jmh -PartworkFile=/path/to/song.mp3};
+ * without one, a synthetic MP3 with a 300 KB picture is generated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtworkExtractionBenchmark {
+
+    private File audioFile;
+    private boolean generated;
+
+    @Setup
+    public void setup() throws IOException {
+        String path = System.getProperty("artwork.file");
+        if (path != null && !path.isBlank()) {
+            audioFile = new File(path);
+        } else {
+            audioFile = File.createTempFile("artwork-benchmark", ".mp3");
+            Files.write(audioFile.toPath(), syntheticMp3());
+            generated = true;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (generated) Files.deleteIfExists(audioFile.toPath());
+    }
+
+    @Benchmark
+    public byte[] jaudiotagger() {
+        return ArtworkExtractor.extractWithJaudiotagger(audioFile);
+    }
+
+    @Benchmark
+    public byte[] seeking() {
+        return ArtworkExtractor.extract(audioFile);
+    }
+
+    // ID3v2.3 tag with a single APIC frame, followed by a few seconds of silent MPEG frames
+    private static byte[] syntheticMp3() throws IOException {
+        byte[] picture = new byte[300 * 1024];
+        new Random(1).nextBytes(picture);
+
+        ByteArrayOutputStream apic = new ByteArrayOutputStream();
+        apic.write(0);
+        apic.write("image/jpeg\0".getBytes(StandardCharsets.ISO_8859_1));
+        apic.write(3);
+        apic.write(0);
+        apic.write(picture);
+        byte[] body = apic.toByteArray();
+
+        ByteArrayOutputStream tag = new ByteArrayOutputStream();
+        tag.write("APIC".getBytes(StandardCharsets.ISO_8859_1));
+        tag.write(ByteBuffer.allocate(4).putInt(body.length).array());
+        tag.write(new byte[2]);
+        tag.write(body);
+        tag.write(new byte[1024]); // padding
+        int size = tag.size();
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.write("ID3".getBytes(StandardCharsets.ISO_8859_1));
+        file.write(new byte[] {3, 0, 0, (byte) ((size >> 21) & 0x7F), (byte) ((size >> 14) & 0x7F), (byte) ((size >> 7) & 0x7F), (byte) (size & 0x7F)});
+        tag.writeTo(file);
+
+        byte[] frame = new byte[417]; // MPEG-1 Layer III, 128 kbps, 44.1 kHz
+        frame[0] = (byte) 0xFF;
+        frame[1] = (byte) 0xFB;
+        frame[2] = (byte) 0x90;
+        frame[3] = 0x64;
+        for (int i = 0; i < 200; i++) {
+            file.write(frame);
+        }
+        return file.toByteArray();
+    }
+}
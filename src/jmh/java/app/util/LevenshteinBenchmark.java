@@ -0,0 +1,66 @@
+package app.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the full-matrix edit distance used originally by the folder matcher with the
+ * bounded, case-insensitive variant, over one file name against a typical album tracklist.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevenshteinBenchmark {
+
+    private static final int THRESHOLD = 4;
+
+    private String fileName;
+    private String[] songTitles;
+
+    @Setup
+    public void setup() {
+        fileName = "Love Story (Taylor's Version)";
+        songTitles = new String[] {
+                "Fearless (Taylor's Version)", "Fifteen (Taylor's Version)", "Love Story (Taylor's Version)",
+                "Hey Stephen (Taylor's Version)", "White Horse (Taylor's Version)", "You Belong With Me (Taylor's Version)",
+                "Breathe (feat. Colbie Caillat) (Taylor's Version)", "Tell Me Why (Taylor's Version)",
+                "You're Not Sorry (Taylor's Version)", "The Way I Loved You (Taylor's Version)",
+                "Forever & Always (Taylor's Version)", "The Best Day (Taylor's Version)", "Change (Taylor's Version)",
+                "Jump Then Fall (Taylor's Version)", "Untouchable (Taylor's Version)", "Come In With The Rain (Taylor's Version)",
+                "Superstar (Taylor's Version)", "The Other Side Of The Door (Taylor's Version)",
+                "Today Was A Fairytale (Taylor's Version)", "You All Over Me (feat. Maren Morris) (Taylor's Version) (From The Vault)",
+                "Mr. Perfectly Fine (Taylor's Version) (From The Vault)", "We Were Happy (Taylor's Version) (From The Vault)",
+                "That's When (feat. Keith Urban) (Taylor's Version) (From The Vault)",
+                "Don't You (Taylor's Version) (From The Vault)", "Bye Bye Baby (Taylor's Version) (From The Vault)",
+        };
+    }
+
+    @Benchmark
+    public void fullMatrix(Blackhole bh) {
+        for (String title : songTitles) {
+            bh.consume(Normalization.levenshteinDistance(fileName.toLowerCase(Locale.ROOT), title.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Benchmark
+    public void bounded(Blackhole bh) {
+        for (String title : songTitles) {
+            bh.consume(Normalization.levenshteinDistance(fileName, title, THRESHOLD));
+        }
+    }
+}
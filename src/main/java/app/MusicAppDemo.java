@@ -1,6 +1,7 @@
 package app;
 
 import app.archipelago.APClient;
+import app.archipelago.CheckJournal;
 import app.archipelago.ConnectionListener;
 import app.archipelago.ItemListener;
 import app.archipelago.PrintJsonListener;
@@ -8,18 +9,31 @@ import app.archipelago.SlotDataHelper;
 import app.player.Album;
 import app.player.Song;
 import app.player.AlbumConverter;
+import app.player.PlayQueue;
+import app.player.PlaybackEngine;
+import app.player.Queueability;
 import app.player.json.AlbumMetadata;
 import app.player.json.AlbumMetadataLoader;
 import app.player.json.LibraryLoader;
-import app.player.json.SongJSON;
 import app.player.ui.AlbumArtPanel;
+import app.player.ui.AlbumTreeModel;
 import app.player.ui.ConnectionPanel;
 import app.player.ui.PlayerPanel;
 import app.util.AlbumLibrary;
 import app.util.AlbumOrderManager;
+import app.util.ArtworkCache;
+import app.util.ArtworkPrefetcher;
+import app.util.ClientSettings;
+import app.util.ConfigPaths;
+import app.util.ConfigWatcher;
+import app.util.ConfigWriter;
+import app.util.FileMatchIndex;
+import app.util.FileMatcher;
+import app.util.GameFile;
+import app.util.IdSet;
+import app.util.LibrarySnapshot;
 import app.util.StateManager;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.reflect.TypeToken;
 import javafx.application.Application;
@@ -46,54 +60,44 @@ import javafx.scene.input.TransferMode;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.media.MediaPlayer;
-import javafx.scene.media.Media;
 import javafx.stage.Stage;
 import javafx.concurrent.Task;
 import javafx.util.Duration;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.io.InputStream;
 import java.io.FileOutputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Set;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.HashSet;
 import java.util.HashMap;
 import java.util.ArrayList;
-import java.util.Queue;
 import java.util.Comparator;
-import java.util.Locale;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.jaudiotagger.audio.AudioFileIO;
-import org.jaudiotagger.audio.AudioFile;
-import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.images.Artwork;
 
 import static app.util.AlbumUtils.generateDefaultAlbumFolders;
 import static app.util.ConfigManager.saveConnectionSettings;
 import static app.util.ConfigPaths.getConfigDir;
 import static app.util.ConfigPaths.getAlbumConfigFile;
 import static app.util.ConfigPaths.checkIfGameFolderExists;
-import static app.util.Normalization.normalizeFilename;
-import static app.util.Normalization.normalizeSongTitle;
-import static app.util.Normalization.levenshteinDistance;
 import static app.util.Dialogs.showError;
 import static app.util.SlotDataUtils.parseBooleanSlot;
 import static app.util.SlotDataUtils.parseSlotData;
@@ -105,11 +109,17 @@ public class MusicAppDemo extends Application {
 
     private enum RepeatMode { OFF, QUEUE, SONG, ALBUM }
 
+    private record LoadedLibrary(List<Album> albums, Map<Song, String> filePaths, Map<String, String> albumFolders) {}
+
+    private static final String CROSSFADE_MARKER = "crossfade";
+
     private final List<Album> albums = new ArrayList<>();
-    private final Set<String> unlockedAlbums = new HashSet<>();
-    private final Set<String> unlockedSongs = new HashSet<>();
-    private final Set<String> enabledSets = new HashSet<>();
-    private final Set<String> enabledAlbums = new HashSet<>();
+    // Bitset-backed, keyed by song/album ID once the library is loaded; still usable as Set<String>
+    private final IdSet unlockedAlbums = new IdSet(IdSet.EMPTY);
+    private final IdSet unlockedSongs = new IdSet(IdSet.EMPTY);
+    private final IdSet enabledSets = IdSet.interning();
+    private final IdSet enabledAlbums = new IdSet(IdSet.EMPTY);
+    private final Queueability queueability = new Queueability(enabledSets, unlockedSongs, unlockedAlbums);
     private boolean offlineMode = false;
     private boolean volumeAdjustMode = false;
     private final StringBuilder volumeInput = new StringBuilder();
@@ -118,24 +128,39 @@ public class MusicAppDemo extends Application {
     private AlbumOrderManager albumOrderManager;
     private StateManager stateManager;
 
-    private TreeView<String> treeView;
+    // Live reload of hand-edited config files; folder rescans run one at a time off the FX thread
+    private final ConfigWatcher configWatcher = new ConfigWatcher(this::applyConfigChanges);
+    private final ExecutorService rescanExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "folder-rescan");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Map<String, String> appliedAlbumFolders = Map.of();
+
+    private final CheckJournal checkJournal = new CheckJournal();
+
+    private TreeView<Object> treeView;
+    private final AlbumTreeModel treeModel = new AlbumTreeModel();
 
     private APClient client;
 
     private Song currentSong;
 
     // queue UI + data
-    @SuppressWarnings("JdkObsolete")
-    private final Queue<Song> playQueue = new LinkedList<>();
+    private final PlayQueue playQueue = new PlayQueue();
     private MediaPlayer currentPlayer;
+    private final PlaybackEngine playbackEngine = new PlaybackEngine();
+    private MediaPlayer pendingFadeOut; // set while handing over from a crossfading track
+    private ClientSettings clientSettings = new ClientSettings();
 
 
     private boolean isUpdatingSelection = false;
     private boolean suppressSelection = false;
     private RepeatMode repeatMode = RepeatMode.OFF;
-    @SuppressWarnings("JdkObsolete")
     private List<Song> queueSnapshot = null;
     private long artworkRequestId = 0;
+    private final ArtworkCache artworkCache = new ArtworkCache();
+    private final ArtworkPrefetcher artworkPrefetcher = new ArtworkPrefetcher(artworkCache, ArtworkPrefetcher.DEFAULT_DEPTH);
     private final ExecutorService artworkExecutor = new ThreadPoolExecutor(
             1, 1, 0L, TimeUnit.MILLISECONDS,
             new ArrayBlockingQueue<>(1),
@@ -169,6 +194,8 @@ public class MusicAppDemo extends Application {
                 suppressSelection = false;
                 return;
             }
+            // Selection moved by us (tree diff or now-playing highlight), not by the user
+            if (isUpdatingSelection) return;
             handleTreeSelection(newSel);
         });
 
@@ -184,6 +211,7 @@ public class MusicAppDemo extends Application {
         albumOrderManager = new AlbumOrderManager();
         stateManager = new StateManager(this, albumOrderManager);
 
+        rebuildTreeModel();
         refreshTree();
 
         createBottomBar();
@@ -191,7 +219,9 @@ public class MusicAppDemo extends Application {
         connectionPanel = new ConnectionPanel(gameFolder, () -> client);
 
         playerPanel = new PlayerPanel();
+        playerPanel.bindQueue(playQueue);
         setupPlayerPanel(playerPanel);
+        loadClientSettings();
 
         // Add panels to bottom bar
         bottomBar.getChildren().addAll(connectionPanel, playerPanel);
@@ -210,9 +240,11 @@ public class MusicAppDemo extends Application {
 
         setupKeyboardShortcuts(scene);
 
-        Task<List<Album>> loadTask = getLoadTask();
+        Task<LoadedLibrary> loadTask = getLoadTask();
 
         new Thread(loadTask).start();
+        configWatcher.watch(getConfigDir());
+        checkJournal.open(getConfigDir());
 
         // Disable the game field if connected
         connectionPanel.disableGameField(client != null && client.isConnected());
@@ -243,100 +275,119 @@ public class MusicAppDemo extends Application {
     @Override
     public void stop() throws Exception {
         super.stop();
+        playbackEngine.dispose();
         artworkExecutor.shutdownNow();
+        artworkPrefetcher.shutdown();
+        configWatcher.close();
+        rescanExecutor.shutdownNow();
+        ConfigWriter.flush();
         if (client != null && client.isConnected()) {
             client.disconnect();
         }
         System.exit(0); // ensures all threads are killed
     }
 
-    private Task<List<Album>> getLoadTask() {
-        Task<List<Album>> loadTask = new Task<>() {
+    private Task<LoadedLibrary> getLoadTask() {
+        Task<LoadedLibrary> loadTask = new Task<>() {
             @Override
-            protected List<Album> call() throws Exception {
-                LibraryLoader loader = new LibraryLoader();
+            protected LoadedLibrary call() throws Exception {
                 File gameFolder = getConfigDir();
-                File localLocations = new File(gameFolder, "locations.json");
-                List<SongJSON> rawSongs;
+                Map<String, String> albumFolders = loadAlbumFolders();
+
+                // Nothing changed since the last load: skip parsing, conversion and matching
+                String fingerprint = LibrarySnapshot.fingerprint(gameFolder, albumFolders);
+                LibrarySnapshot snapshot = LibrarySnapshot.read(gameFolder, fingerprint);
+                if (snapshot != null) {
+                    return new LoadedLibrary(snapshot.getAlbums(), snapshot.getFilePaths(), albumFolders);
+                }
+
+                LibraryLoader loader = new LibraryLoader();
+                File localLocations = GameFile.LOCATIONS.in(gameFolder);
+
+                Map<String, AlbumMetadata> metadata = AlbumMetadataLoader.loadAlbumMetadata(gameFolder);
+                AlbumConverter converter = new AlbumConverter(metadata);
+                List<Album> loadedAlbums;
 
+                // Locations are converted while they are read, without an intermediate list
                 if (localLocations.exists()) {
                     try (Reader reader = new FileReader(localLocations, StandardCharsets.UTF_8)) {
-                        rawSongs = loader.loadSongsFromReader(reader); // new method
+                        loadedAlbums = loader.loadAlbumsFromReader(reader, converter, null);
                     }
                 } else {
-                    rawSongs = loader.loadSongs("/locations.json"); // fallback to bundled
+                    loadedAlbums = loader.loadAlbums("/locations.json", converter); // fallback to bundled
                 }
 
-                Map<String, AlbumMetadata> metadata = AlbumMetadataLoader.loadAlbumMetadata(gameFolder);
-                AlbumConverter converter = new AlbumConverter(metadata);
-                return converter.convert(rawSongs);
+                // Generate the default albumFolders.json before anything reads it, so the
+                // fingerprint written with the snapshot already covers it
+                if (!GameFile.ALBUM_FOLDERS.in(gameFolder).exists()) {
+                    generateDefaultAlbumFolders(loadedAlbums);
+                    albumFolders = loadAlbumFolders();
+                    fingerprint = LibrarySnapshot.fingerprint(gameFolder, albumFolders);
+                }
+
+                // The albums aren't shared with the FX thread yet, so folders can be assigned here
+                for (Album album : loadedAlbums) {
+                    if (albumFolders.containsKey(album.getName())) {
+                        album.setFolderPath(albumFolders.get(album.getName()));
+                    }
+                }
+
+                FileMatcher matcher = new FileMatcher(FileMatchIndex.load(gameFolder));
+                String libraryFolder = albumFolders.get(FileMatcher.LIBRARY_WIDE_KEY);
+                Map<Song, String> filePaths = matcher.assign(loadedAlbums, libraryFolder);
+
+                LibrarySnapshot.write(gameFolder, fingerprint, loadedAlbums, filePaths);
+                return new LoadedLibrary(loadedAlbums, filePaths, albumFolders);
             }
         };
 
         loadTask.setOnSucceeded(_ -> {
-            albums.addAll(loadTask.getValue());
-
-            generateDefaultAlbumFolders(albums);
+            LoadedLibrary loaded = loadTask.getValue();
+            albums.addAll(loaded.albums());
+            appliedAlbumFolders = loaded.albumFolders();
 
             // initialize AlbumLibrary now we've added the albums and they exist
-            library = new AlbumLibrary(albums);
+            if (library == null) {
+                library = new AlbumLibrary(albums);
+            } else {
+                library.rebuildIndex();
+            }
+            bindStateToLibrary();
 
             treeView.setCellFactory(tv -> new TreeCell<>() {
                 @Override
-                protected void updateItem(String item, boolean empty) {
+                protected void updateItem(Object item, boolean empty) {
                     super.updateItem(item, empty);
 
                     if (empty || item == null) {
                         setText(null);
                         setStyle(""); // reset style
-                    } else {
-                        setText(item);
-
-                        TreeItem<String> treeItem = getTreeItem();
-
-                        if (treeItem != null && treeItem.isLeaf()) {
-                            // Song nodes
-                            Song song = library.getSongByTitle(item);
-                            if (song != null && unlockedSongs.contains(song.getTitle())) {
-                                setStyle("-fx-font-weight: bold; -fx-text-fill: green;");
-                            } else {
-                                setStyle("-fx-font-weight: normal; -fx-text-fill: black;");
-                            }
+                    } else if (item instanceof Song song) {
+                        // Song nodes
+                        setText(song.getTitle());
+                        if (unlockedSongs.containsId(song.getId())) {
+                            setStyle("-fx-font-weight: bold; -fx-text-fill: green;");
                         } else {
-                            // Album nodes
-                            if (item.equals("Albums")) {
-                                // Root "Albums" node — keep it normal black
-                                setStyle("-fx-font-weight: normal; -fx-text-fill: black;");
-                            } else {
-                                // Regular album node
-                                Album album = library.getAlbumByName(item);
-                                if (album != null && unlockedAlbums.contains(album.getName())) {
-                                    // unlocked → bold black
-                                    setStyle("-fx-font-weight: bold; -fx-text-fill: black;");
-                                } else {
-                                    // locked → normal black
-                                    setStyle("-fx-font-weight: normal; -fx-text-fill: black;");
-                                }
-                            }
+                            setStyle("-fx-font-weight: normal; -fx-text-fill: black;");
                         }
+                    } else if (item instanceof Album album) {
+                        // Album nodes
+                        setText(album.getName());
+                        if (unlockedAlbums.containsId(album.getId())) {
+                            // unlocked → bold black
+                            setStyle("-fx-font-weight: bold; -fx-text-fill: black;");
+                        } else {
+                            // locked → normal black
+                            setStyle("-fx-font-weight: normal; -fx-text-fill: black;");
+                        }
+                    } else {
+                        // Root "Albums" node — keep it normal black
+                        setText(item.toString());
+                        setStyle("-fx-font-weight: normal; -fx-text-fill: black;");
                     }
                 }
             });
 
-            Map<String, String> albumFolders = new HashMap<>();
-            File configFile = getAlbumConfigFile();
-
-            if (configFile.exists()) {
-                try (Reader reader = new FileReader(configFile, StandardCharsets.UTF_8)) {
-                    Type type = new TypeToken<Map<String, String>>(){}.getType();
-                    albumFolders = new Gson().fromJson(reader, type);
-                } catch (Exception ex) {
-                    LOGGER.error("Error loading album folders configuration", ex);
-                }
-            } else {
-                LOGGER.info("No config file found at {}, skipping album folder assignment", configFile.getAbsolutePath());
-            }
-
             // add fallback album to unlocked albums
             for (Album album : albums) {
                 if ("Songs".equals(album.getName())) {
@@ -346,16 +397,10 @@ public class MusicAppDemo extends Application {
                 }
             }
 
-            // assign folder paths to albums
-            for (Album album : albums) {
-                if (albumFolders.containsKey(album.getName())) {
-                    album.setFolderPath(albumFolders.get(album.getName()));
-                }
-            }
-
-            // After assigning folder paths in loadTask.setOnSucceeded
-            assignFilesToSongs();
+            // publish the file paths matched on the background thread in one pass
+            loaded.filePaths().forEach(Song::setFilePath);
 
+            rebuildTreeModel();
             refreshTree(); // populate TreeView after loading
 
             // If offline mode was activated before load finished, apply it now
@@ -373,6 +418,24 @@ public class MusicAppDemo extends Application {
         return loadTask;
     }
 
+    private static Map<String, String> loadAlbumFolders() {
+        Map<String, String> albumFolders = new HashMap<>();
+        File configFile = getAlbumConfigFile();
+
+        if (configFile.exists()) {
+            try (Reader reader = new FileReader(configFile, StandardCharsets.UTF_8)) {
+                Type type = new TypeToken<Map<String, String>>(){}.getType();
+                Map<String, String> loaded = new Gson().fromJson(reader, type);
+                if (loaded != null) albumFolders = loaded;
+            } catch (Exception ex) {
+                LOGGER.error("Error loading album folders configuration", ex);
+            }
+        } else {
+            LOGGER.info("No config file found at {}, skipping album folder assignment", configFile.getAbsolutePath());
+        }
+        return albumFolders;
+    }
+
     @SuppressWarnings("unused")
     private void reloadGameLibrary(File gameFolder) {
         // clear old state before reloading
@@ -382,66 +445,160 @@ public class MusicAppDemo extends Application {
         enabledSets.clear();
         albumOrderManager.clearAlbumOrderCache();
 
+        // drop stale lookups until the new albums arrive
+        if (library != null) {
+            library.rebuildIndex();
+            bindStateToLibrary();
+        }
+        rebuildTreeModel();
+
         playerPanel.getLoadQueueBtn().setDisable(true);
 
-        Task<List<Album>> loadTask = getLoadTask();
+        Task<LoadedLibrary> loadTask = getLoadTask();
         new Thread(loadTask).start();
     }
 
+    // Re-keys the state sets to the current library's IDs, keeping members by name
+    private void bindStateToLibrary() {
+        unlockedSongs.setResolver(library.getSongIds());
+        unlockedAlbums.setResolver(library.getAlbumIds());
+        enabledAlbums.setResolver(library.getAlbumIds());
+        queueability.setLibrary(albums);
+    }
+
     public void refreshTree() {
+        // Only nodes whose visibility or unlock state changed are touched
+        boolean wasUpdating = isUpdatingSelection;
+        isUpdatingSelection = true;
+        try {
+            treeModel.update(enabledAlbums, enabledSets, unlockedSongs, unlockedAlbums);
+        } finally {
+            isUpdatingSelection = wasUpdating;
+        }
+    }
+
+    private void rebuildTreeModel() {
         // Custom album order
         List<String> albumOrder = albumOrderManager.getAlbumOrder();
+        Map<String, Integer> orderIndex = new HashMap<>();
+        for (int i = 0; i < albumOrder.size(); i++) {
+            orderIndex.putIfAbsent(albumOrder.get(i), i);
+        }
 
-        // Sort albums according to albumOrder
-        albums.sort(Comparator.comparingInt(a -> {
-            int idx = albumOrder.indexOf(a.getName());
-            return idx >= 0 ? idx : Integer.MAX_VALUE; // albums not in the list go last
-        }));
+        // Sort albums according to albumOrder, albums not in the list go last
+        albums.sort(Comparator.comparingInt(a -> orderIndex.getOrDefault(a.getName(), Integer.MAX_VALUE)));
 
-        TreeItem<String> rootItem = new TreeItem<>("Albums");
-        rootItem.setExpanded(true);
+        treeModel.setAlbums(albums);
+    }
 
-        for (Album album : albums) {
-            // Skip albums not unlocked in slot data
-            if (!enabledAlbums.contains(album.getName())) continue;
+    // Applies hand edits to the watched config files in place instead of reloading the library
+    private void applyConfigChanges(Set<GameFile> changed) {
+        if (library == null || albums.isEmpty()) return; // a load is in progress and will read them anyway
 
-            TreeItem<String> albumItem = new TreeItem<>(album.getName());
-            boolean hasSongs = false;
+        if (changed.contains(GameFile.ALBUM_METADATA)) applyAlbumMetadata();
+        if (changed.contains(GameFile.ALBUM_FOLDERS)) rescanChangedFolders();
+        if (changed.contains(GameFile.ALBUM_ORDER)) {
+            albumOrderManager.clearAlbumOrderCache();
+            rebuildTreeModel();
+            LOGGER.info("Album order changed, re-sorted the library");
+        }
+        refreshTree();
+    }
 
-            for (Song song : album.getSongs()) {
-                if (enabledSets.contains(song.getType())) {
-                    TreeItem<String> songItem = new TreeItem<>(song.getTitle());
-                    albumItem.getChildren().add(songItem);
-                    hasSongs = true;
-                }
+    private void applyAlbumMetadata() {
+        Map<String, AlbumMetadata> metadata = AlbumMetadataLoader.loadAlbumMetadata(getConfigDir());
+        int updated = 0;
+        for (Album album : albums) {
+            AlbumMetadata entry = metadata.get(album.getName());
+            boolean fullUnlock = entry != null && entry.isFullAlbumUnlock();
+            if (album.isFullAlbumUnlock() != fullUnlock) {
+                album.setFullAlbumUnlock(fullUnlock);
+                updated++;
             }
+        }
+        if (updated > 0) {
+            queueability.setLibrary(albums);
+        }
+        LOGGER.info("Album metadata changed, updated {} albums", updated);
+    }
 
-            if (hasSongs) rootItem.getChildren().add(albumItem);
+    // Only albums whose folder changed are rescanned; all of them if the library-wide folder changed
+    private void rescanChangedFolders() {
+        Map<String, String> albumFolders = loadAlbumFolders();
+        String libraryFolder = albumFolders.get(FileMatcher.LIBRARY_WIDE_KEY);
+        boolean libraryFolderChanged = !sameFolder(libraryFolder, appliedAlbumFolders.get(FileMatcher.LIBRARY_WIDE_KEY));
+
+        List<Album> changedAlbums = new ArrayList<>();
+        for (Album album : albums) {
+            String folder = albumFolders.get(album.getName());
+            if (libraryFolderChanged || !sameFolder(folder, appliedAlbumFolders.get(album.getName()))) {
+                album.setFolderPath(folder);
+                changedAlbums.add(album);
+            }
         }
+        appliedAlbumFolders = albumFolders;
+        if (changedAlbums.isEmpty()) return;
+
+        List<Album> allAlbums = new ArrayList<>(albums);
+        Task<Map<Song, String>> rescanTask = new Task<>() {
+            @Override
+            protected Map<Song, String> call() throws Exception {
+                FileMatcher matcher = new FileMatcher(FileMatchIndex.load(getConfigDir()));
+                if (libraryFolderChanged) {
+                    // every album is in changedAlbums, so the loose folder is matched against all songs
+                    return matcher.assign(changedAlbums, libraryFolder);
+                }
+
+                // The loose folder is unchanged: keep its earlier matches as the fallback for
+                // songs their album folder no longer provides
+                Map<Song, String> filePaths = matcher.assign(changedAlbums, null);
+                List<Song> songs = new ArrayList<>();
+                for (Album album : changedAlbums) {
+                    songs.addAll(album.getSongs());
+                }
+                matcher.cachedLibraryMatches(libraryFolder, allAlbums, songs).forEach(filePaths::putIfAbsent);
+                return filePaths;
+            }
+        };
+        rescanTask.setOnSucceeded(_ -> {
+            Map<Song, String> filePaths = rescanTask.getValue();
+            for (Album album : changedAlbums) {
+                for (Song song : album.getSongs()) {
+                    song.setFilePath(filePaths.get(song));
+                }
+            }
+            rearmPreload();
+            LOGGER.info("Album folders changed, rescanned {} albums ({} files matched)", changedAlbums.size(), filePaths.size());
+        });
+        rescanTask.setOnFailed(_ -> LOGGER.error("Failed to rescan album folders", rescanTask.getException()));
+        rescanExecutor.submit(rescanTask);
+    }
 
-        treeView.setRoot(rootItem);
+    // Blank placeholders and missing entries both mean "no folder"
+    private static boolean sameFolder(String a, String b) {
+        return Objects.equals(a == null || a.isBlank() ? null : a, b == null || b.isBlank() ? null : b);
     }
 
     private void setupAlbumContextMenu() {
         treeView.setOnContextMenuRequested(event -> {
             suppressSelection = false;
-            TreeItem<String> item = treeView.getSelectionModel().getSelectedItem();
+            TreeItem<Object> item = treeView.getSelectionModel().getSelectedItem();
             if (item == null || item.getParent() == null) return;
 
             contextMenu.getItems().clear(); // reset the context menu
 
-            if (item.isLeaf() && item.getParent().getParent() != null) {
+            if (item.getValue() instanceof Song song) {
                 MenuItem queueNext = new MenuItem("Play Next");
-                queueNext.setOnAction(_ -> queueSongNext(item.getValue()));
+                queueNext.setOnAction(_ -> queueSongNext(song));
                 contextMenu.getItems().add(queueNext);
                 contextMenu.show(treeView, event.getScreenX(), event.getScreenY());
                 event.consume();
             }
 
-            // Only show for album nodes (non-leaf, child of root)
-            if (!item.isLeaf() && item.getParent().getParent() == null) {
+            // Only show for album nodes
+            if (item.getValue() instanceof Album album) {
                 MenuItem queueAll = new MenuItem("Queue All Songs");
-                queueAll.setOnAction(_ -> queueAlbum(item.getValue()));
+                queueAll.setOnAction(_ -> queueAlbum(album));
                 contextMenu.getItems().add(queueAll);
                 contextMenu.show(treeView, event.getScreenX(), event.getScreenY());
                 event.consume();
@@ -449,75 +606,62 @@ public class MusicAppDemo extends Application {
         });
     }
 
-    private void queueAlbum(String albumName) {
-        Album album = library.getAlbumByName(albumName);
-        if (album == null) return;
-
-        List<Song> queueable = album.getQueueableSongs(enabledSets, unlockedSongs, unlockedAlbums);
+    private void queueAlbum(Album album) {
+        List<Song> queueable = queueability.getQueueableSongs(album);
         if (queueable.isEmpty()) {
-            LOGGER.info("No queueable songs in album '{}'", albumName);
+            LOGGER.info("No queueable songs in album '{}'", album.getName());
             return;
         }
 
         playQueue.addAll(queueable);
-        LOGGER.info("Queued {} songs from album '{}'", queueable.size(), albumName);
-        updateQueueDisplay();
+        LOGGER.info("Queued {} songs from album '{}'", queueable.size(), album.getName());
+        rearmPreload();
 
         // If nothing is playing, start the first queued song
         if ((currentPlayer == null || currentPlayer.getStatus() != MediaPlayer.Status.PLAYING) && !playQueue.isEmpty()) {
             Song next = playQueue.poll();
-            updateQueueDisplay();
+            rearmPreload();
             if (next != null) {
                 playSong(next);
             }
         }
     }
 
-    private void queueSongNext(String songTitle) {
-        Song song = library.getSongByTitle(songTitle);
-        if (song == null) return;
-
-        Album album = library.getAlbumForSong(songTitle);
-        boolean songUnlocked = unlockedSongs.contains(songTitle);
-        boolean albumUnlocked = album != null && unlockedAlbums.contains(album.getName());
+    private void queueSongNext(Song song) {
+        Album album = library.getAlbumForSong(song);
+        boolean songUnlocked = unlockedSongs.containsId(song.getId());
+        boolean albumUnlocked = album != null && unlockedAlbums.containsId(album.getId());
         boolean canPlay = album == null || album.isFullAlbumUnlock() || (songUnlocked && albumUnlocked);
         if (!canPlay) return;
 
-        // insert at front
-        LinkedList<Song> temp = new LinkedList<>(playQueue);
-        temp.addFirst(song);
-        playQueue.clear();
-        playQueue.addAll(temp);
-        updateQueueDisplay();
+        playQueue.addFirst(song);
+        rearmPreload();
 
         // If nothing is playing, start the first queued song
         if (currentPlayer == null && !playQueue.isEmpty()) {
             Song next = playQueue.poll();
-            updateQueueDisplay();
+            rearmPreload();
             if (next != null) {
                 playSong(next);
             }
         }
     }
 
-    public void unlockSong(String songTitle) {
-        if (!unlockedSongs.contains(songTitle)) {
-            unlockedSongs.add(songTitle);
+    public void unlockSong(Song song) {
+        if (unlockedSongs.addId(song.getId())) {
             refreshTree();
         }
     }
 
     public void unlockAlbum(String albumName) {
-        for (Album album : albums) {
-            if (album.getName().equals(albumName)) {
-                // Enable this album’s type so songs will show
-                enabledSets.add(album.getType());
+        Album album = library.getAlbumByName(albumName);
+        if (album == null) return;
 
-                for (Song song : album.getSongs()) {
-                    unlockSong(song.getTitle());
-                }
-                break;
-            }
+        // Enable this album’s type so songs will show
+        enabledSets.add(album.getType());
+
+        for (Song song : album.getSongs()) {
+            unlockSong(song);
         }
     }
 
@@ -529,9 +673,9 @@ public class MusicAppDemo extends Application {
         if (song == null) return;
 
         boolean canPlay;
-        Album album = library.getAlbumForSong(song.getTitle());
-        boolean albumUnlocked = album != null && unlockedAlbums.contains(album.getName());
-        boolean songUnlocked = unlockedSongs.contains(song.getTitle());
+        Album album = library.getAlbumForSong(song);
+        boolean albumUnlocked = album != null && unlockedAlbums.containsId(album.getId());
+        boolean songUnlocked = unlockedSongs.containsId(song.getId());
 
         if (album != null) {
             // For songs in an album: must either be full-album unlocked OR both the song and album unlocked
@@ -556,7 +700,7 @@ public class MusicAppDemo extends Application {
         this.currentSong = song;
 
         if (repeatMode == RepeatMode.QUEUE && queueSnapshot == null) {
-            LinkedList<Song> snapshot = new LinkedList<>();
+            List<Song> snapshot = new ArrayList<>(playQueue.size() + 1);
             snapshot.add(song);
             snapshot.addAll(playQueue);
             queueSnapshot = snapshot;
@@ -568,6 +712,11 @@ public class MusicAppDemo extends Application {
             return;
         }
 
+        // A crossfade hand-over leaves the old player running so it can fade out
+        MediaPlayer fadeFrom = pendingFadeOut;
+        pendingFadeOut = null;
+        playbackEngine.cancelCrossfade();
+
         if (currentPlayer != null) {
             currentPlayer.stop();
             currentPlayer.dispose(); // release OS resources
@@ -576,40 +725,47 @@ public class MusicAppDemo extends Application {
         // Reset progress slider and labels
         playerPanel.resetProgress();
 
-        // Extract album art in background
+        // Album art: straight from the memory cache on repeat plays, otherwise loaded in background
         long requestId = ++artworkRequestId;
-        albumArtPanel.clearArtwork();
         String filePath = song.getFilePath();
         String trackInfo = song.getTitle();
-        artworkExecutor.execute(() -> {
-            try {
-                AudioFile audioFile = AudioFileIO.read(new File(filePath));
-                Tag tag = audioFile.getTag();
-                if (tag != null) {
-                    Artwork artwork = tag.getFirstArtwork();
-                    if (artwork != null) {
-                        byte[] data = artwork.getBinaryData();
-                        Image image = new Image(new ByteArrayInputStream(data), 180, 180, true, true);
-                        Platform.runLater(() -> {
-                            if (requestId == artworkRequestId) {
-                                albumArtPanel.setArtwork(image, trackInfo);
-                            }
-                        });
+        Image cachedArtwork = artworkCache.getFromMemory(filePath);
+        if (cachedArtwork != null) {
+            albumArtPanel.setArtwork(cachedArtwork, trackInfo);
+        } else if (artworkCache.isInMemory(filePath)) {
+            albumArtPanel.clearArtwork(); // already known to have no artwork
+        } else {
+            albumArtPanel.clearArtwork();
+            Future<Image> prefetched = artworkPrefetcher.take(filePath);
+            artworkExecutor.execute(() -> {
+                Image image = null;
+                if (prefetched != null) {
+                    try {
+                        image = prefetched.get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
                         return;
+                    } catch (ExecutionException | CancellationException e) {
+                        LOGGER.debug("Artwork prefetch for {} did not complete: {}", trackInfo, e.getMessage());
                     }
                 }
-            } catch (Exception e) {
-                LOGGER.debug("Could not extract album art for {}: {}", trackInfo, e.getMessage());
-            }
-            Platform.runLater(() -> {
-                if (requestId == artworkRequestId) {
-                    albumArtPanel.clearArtwork();
+                if (image == null) {
+                    image = artworkCache.get(filePath);
                 }
+                Image artwork = image;
+                Platform.runLater(() -> {
+                    if (requestId == artworkRequestId) {
+                        if (artwork != null) {
+                            albumArtPanel.setArtwork(artwork, trackInfo);
+                        } else {
+                            albumArtPanel.clearArtwork();
+                        }
+                    }
+                });
             });
-        });
+        }
 
-        Media media = new Media(Paths.get(song.getFilePath()).toUri().toString());
-        currentPlayer = new MediaPlayer(media);
+        currentPlayer = playbackEngine.acquire(song);
         currentPlayer.setVolume(playerPanel.getVolumeSlider().getValue() / 100.0);
 
         currentPlayer.currentTimeProperty().addListener((_, _, newTime) -> {
@@ -622,29 +778,129 @@ public class MusicAppDemo extends Application {
             }
         });
 
-        // Set duration label once media is ready
-        currentPlayer.setOnReady(() -> {
-            Duration total = currentPlayer.getTotalDuration();
+        // Set duration label once media is ready (a preloaded player may already be)
+        MediaPlayer player = currentPlayer;
+        Runnable showDuration = () -> {
+            Duration total = player.getTotalDuration();
             if (total != null) {
                 playerPanel.getDurationLabel().setText(formatTime(total));
             }
-        });
+            armCrossfadeMarker(player, song);
+        };
+        if (currentPlayer.getStatus() == MediaPlayer.Status.UNKNOWN) {
+            currentPlayer.setOnReady(showDuration);
+        } else {
+            showDuration.run();
+        }
+
+        currentPlayer.setOnEndOfMedia(endOfMediaHandler(song, true));
+
+        if (fadeFrom != null && fadeFrom.getStatus() == MediaPlayer.Status.PLAYING) {
+            Duration fade = Duration.seconds(clientSettings.getCrossfadeSeconds());
+            playbackEngine.crossfade(fadeFrom, player, fade, player.getVolume(), () -> {
+                // pick up any volume change made while the ramp was running
+                if (player == currentPlayer) {
+                    player.setVolume(playerPanel.getVolumeSlider().getValue() / 100.0);
+                }
+            });
+        } else {
+            if (fadeFrom != null) {
+                fadeFrom.stop();
+                fadeFrom.dispose();
+            }
+            currentPlayer.play();
+        }
+        playerPanel.setCurrentSongLabel("Currently Playing: " + song.getTitle());
+        rearmPreload();
+        highlightCurrentSong(song);
+    }
+
+    private void onSongFinished(Song song) {
+        if (client == null) return; // no session started, nothing to check
+
+        // Journaled first, so the check survives a dropped socket or a crash
+        checkJournal.record(song.getTitle());
+        if (client.isConnected()) {
+            client.sendCheck(song.getTitle());
+        }
+    }
+
+    public void replayJournaledChecks() {
+        if (client != null) checkJournal.replay(client);
+    }
 
-        currentPlayer.setOnEndOfMedia(() -> {
-            if (client != null && client.isConnected()) {
-                client.sendCheck(song.getTitle());
+    // Places a marker one fade length before the end; the overlap starts when playback crosses it
+    private void armCrossfadeMarker(MediaPlayer player, Song song) {
+        player.getMedia().getMarkers().remove(CROSSFADE_MARKER);
+
+        int fadeSeconds = clientSettings.getCrossfadeSeconds();
+        Duration total = player.getTotalDuration();
+        if (fadeSeconds <= 0 || total == null || total.isUnknown() || total.isIndefinite()) return;
+
+        Duration fade = Duration.seconds(fadeSeconds);
+        if (total.lessThan(fade.multiply(2))) return; // too short to overlap
+
+        player.getMedia().getMarkers().put(CROSSFADE_MARKER, total.subtract(fade));
+        player.setOnMarker(event -> {
+            if (CROSSFADE_MARKER.equals(event.getMarker().getKey()) && player == currentPlayer) {
+                startCrossfade(song);
             }
+        });
+    }
+
+    private void startCrossfade(Song finished) {
+        // Nothing queued to fade into: let the track end normally
+        if (repeatMode != RepeatMode.SONG && playQueue.isEmpty()) return;
+
+        MediaPlayer outgoing = currentPlayer;
+        outgoing.setOnEndOfMedia(null); // the engine releases it once the fade is done
+        currentPlayer = null;
+        pendingFadeOut = outgoing;
+
+        onSongFinished(finished);
+        if (repeatMode == RepeatMode.SONG) {
+            playSong(finished);
+        } else {
+            playNextInQueue();
+        }
+
+        if (pendingFadeOut == outgoing) {
+            // The next track could not start, keep playing this one out and show it again
+            pendingFadeOut = null;
+            currentPlayer = outgoing;
+            currentSong = finished;
+            outgoing.setOnEndOfMedia(endOfMediaHandler(finished, false)); // its check already went out
+            playerPanel.setCurrentSongLabel("Currently Playing: " + finished.getTitle());
+            highlightCurrentSong(finished);
+        }
+    }
+
+    // Measures the gap, checks the location unless that already happened, then repeats or advances
+    private Runnable endOfMediaHandler(Song song, boolean checkLocation) {
+        return () -> {
+            playbackEngine.markEndOfMedia();
+            if (checkLocation) onSongFinished(song);
             if (repeatMode == RepeatMode.SONG) {
                 playSong(song);
             } else {
                 playNextInQueue();
             }
-        });
+        };
+    }
 
-        currentPlayer.play();
-        playerPanel.setCurrentSongLabel("Currently Playing: " + song.getTitle());
-        updateQueueDisplay();
-        highlightCurrentSong(song.getTitle());
+    // Pausing mid-fade would leave the outgoing track audible, so the fade is completed first
+    private void settleCrossfade() {
+        if (!playbackEngine.isCrossfading()) return;
+        playbackEngine.cancelCrossfade();
+        if (currentPlayer != null) {
+            currentPlayer.setVolume(playerPanel.getVolumeSlider().getValue() / 100.0);
+        }
+    }
+
+    private void loadClientSettings() {
+        clientSettings = ClientSettings.load();
+        playerPanel.getCrossfadeSpinner().getValueFactory().setValue(clientSettings.getCrossfadeSeconds());
+        connectionPanel.getTextClientWindow().getMessageLog().setCapacity(clientSettings.getMessageLogLimit());
     }
 
     private void playNextInQueue() {
@@ -653,16 +909,14 @@ public class MusicAppDemo extends Application {
             if (repeatMode == RepeatMode.QUEUE && queueSnapshot != null) {
                 playQueue.addAll(queueSnapshot);
             } else if (repeatMode == RepeatMode.ALBUM && currentSong != null) {
-                Album album = library.getAlbumForSong(currentSong.getTitle());
+                Album album = library.getAlbumForSong(currentSong);
                 if (album != null) {
-                    for (Song s : album.getSongs()) {
-                        playQueue.add(s);
-                    }
+                    playQueue.addAll(album.getSongs());
                 }
             }
             next = playQueue.poll();
         }
-        updateQueueDisplay();
+        rearmPreload();
         if (next != null) {
             playSong(next);
         } else {
@@ -678,17 +932,17 @@ public class MusicAppDemo extends Application {
         }
     }
 
-    private void highlightCurrentSong(String songTitle) {
+    private void highlightCurrentSong(Song song) {
         if (isUpdatingSelection) return;
 
-        TreeItem<String> root = treeView.getRoot();
+        TreeItem<Object> root = treeView.getRoot();
         if (root == null) return;
 
         isUpdatingSelection = true;
 
-        for (TreeItem<String> albumItem : root.getChildren()) {
-            for (TreeItem<String> songItem : albumItem.getChildren()) {
-                if (songItem.getValue().equals(songTitle)) {
+        for (TreeItem<Object> albumItem : root.getChildren()) {
+            for (TreeItem<Object> songItem : albumItem.getChildren()) {
+                if (songItem.getValue() == song) {
                     treeView.getSelectionModel().select(songItem);
                     int row = treeView.getRow(songItem);
                     if (row >= 0) {
@@ -705,34 +959,26 @@ public class MusicAppDemo extends Application {
 
     // Queue helpers -----------------------------------------------------
 
-    private void updateQueueDisplay() {
-        playerPanel.clearQueueDisplay();
-        for (Song s : playQueue) {
-            playerPanel.addToQueueDisplay(s);
-        }
-    }
+    // Keep the next track's player warm; runs after every queue edit and track change
+    private void rearmPreload() {
+        Song next = repeatMode == RepeatMode.SONG ? currentSong : playQueue.peek();
+        playbackEngine.preload(next);
 
-    private void removeFromQueue(Song song) {
-        playQueue.remove(song);
+        List<String> upcoming = new ArrayList<>();
+        for (Song song : playQueue) {
+            if (upcoming.size() >= ArtworkPrefetcher.DEFAULT_DEPTH) break;
+            upcoming.add(song.getFilePath());
+        }
+        artworkPrefetcher.prefetch(upcoming);
     }
 
     private void moveInQueue(int fromIndex, int toIndex) {
-        int i = 0;
-        Song song = null;
-        for (Song s : playQueue) {
-            if (i == fromIndex) { song = s; break; }
-            i++;
-        }
-        if (song == null) return;
-        playQueue.remove(song);
-        // reinsert at toIndex, adjusting if removing shifted the position
+        if (fromIndex < 0 || fromIndex >= playQueue.size()) return;
+        // drop target is the row the song lands before, so account for the row it leaves
         int adjusted = toIndex > fromIndex ? toIndex - 1 : toIndex;
-        i = 0;
-        LinkedList<Song> temp = new LinkedList<>(playQueue);
-        temp.add(adjusted, song);
-        playQueue.clear();
-        playQueue.addAll(temp);
-        updateQueueDisplay();
+        adjusted = Math.min(Math.max(adjusted, 0), playQueue.size() - 1);
+        playQueue.move(fromIndex, adjusted);
+        rearmPreload();
     }
 
     private int getQueueIndexAtY(ListView<Song> listView, double y) {
@@ -751,72 +997,24 @@ public class MusicAppDemo extends Application {
         return listView.getItems().size();
     }
 
-    private void assignFilesToSongs() {
-        for (Album album : albums) {
-            String folderPath = album.getFolderPath();
-            if (folderPath == null) continue;
-
-            File albumDirectory = new File(folderPath);
-            if (!albumDirectory.exists() || !albumDirectory.isDirectory()) continue;
-
-            File[] files = albumDirectory.listFiles((_, name) ->
-                    name.toLowerCase(Locale.ROOT).endsWith(".mp3") ||
-                            name.toLowerCase(Locale.ROOT).endsWith(".m4a") ||
-                            name.toLowerCase(Locale.ROOT).endsWith(".wav")
-            );
-
-            if (files == null) continue;
-
-            for (File file : files) {
-                String normalizedFile = normalizeFilename(file.getName());
-                Song matchedSong = null;
-                int bestDistance = Integer.MAX_VALUE;
-
-                for (Song song : album.getSongs()) {
-                    String normalizedSong = normalizeSongTitle(song.getTitle());
-
-                    // exact or substring match first
-                    if (normalizedFile.equalsIgnoreCase(normalizedSong)) {
-                        matchedSong = song;
-                        break;
-                    }
-
-                    // fallback fuzzy match if close enough
-                    int dist = levenshteinDistance(normalizedFile.toLowerCase(Locale.ROOT), normalizedSong.toLowerCase(Locale.ROOT));
-                    if (dist < 5 && dist < bestDistance) { // tweak threshold if needed
-                        matchedSong = song;
-                        bestDistance = dist;
-                    }
-                }
-
-                if (matchedSong != null) {
-                    matchedSong.setFilePath(file.getAbsolutePath());
-                    LOGGER.info("Matched: {} -> {} | path: {}", file.getName(), matchedSong.getTitle(), matchedSong.getFilePath());
-                } else {
-                    LOGGER.warn("Could not match file to song: {} in album {}", file.getName(), album.getName());
-                }
-            }
-        }
-    }
-
     private void ensureGameDefaults(File gameFolder) {
         if (!gameFolder.exists()) {
             //noinspection ResultOfMethodCallIgnored
             gameFolder.mkdirs();
         }
 
-        File albumOrderFile = new File(gameFolder, "albumOrder.json");
+        File albumOrderFile = GameFile.ALBUM_ORDER.in(gameFolder);
         if (!albumOrderFile.exists()) {
             albumOrderManager.getAlbumOrder(); // this method already generates the default if missing
         }
 
-        File foldersFile = new File(gameFolder, "albumFolders.json");
+        File foldersFile = GameFile.ALBUM_FOLDERS.in(gameFolder);
         if (!foldersFile.exists()) {
             generateDefaultAlbumFolders(albums); // creates default
         }
 
         // Optionally copy default locations.json
-        File localLocations = new File(gameFolder, "locations.json");
+        File localLocations = GameFile.LOCATIONS.in(gameFolder);
         if (!localLocations.exists()) {
             try (InputStream in = getClass().getResourceAsStream("/locations.json");
                  FileOutputStream out = new FileOutputStream(localLocations)) {
@@ -829,11 +1027,11 @@ public class MusicAppDemo extends Application {
         }
     }
 
-    public Set<String> getUnlockedSongs() {
+    public IdSet getUnlockedSongs() {
         return unlockedSongs;
     }
 
-    public Set<String> getUnlockedAlbums() {
+    public IdSet getUnlockedAlbums() {
         return unlockedAlbums;
     }
 
@@ -887,13 +1085,13 @@ public class MusicAppDemo extends Application {
 
                 // Skip short songs if disabled
                 if (!shortSongsEnabled && "short".equalsIgnoreCase(type)) {
-                    unlockedSongs.remove(s.getTitle());
+                    unlockedSongs.removeId(s.getId());
                     continue;
                 }
 
                 // Skip vault tracks if disabled
                 if (!vaultSongsEnabled && "vault".equalsIgnoreCase(type)) {
-                    unlockedSongs.remove(s.getTitle());
+                    unlockedSongs.removeId(s.getId());
                 }
             }
         }
@@ -942,10 +1140,10 @@ public class MusicAppDemo extends Application {
         for (Album album : albums) {
             enabledAlbums.add(album.getName());
             enabledSets.add(album.getType());
-            unlockedAlbums.add(album.getName());
+            unlockedAlbums.addId(album.getId());
 
             for (Song song : album.getSongs()) {
-                unlockedSongs.add(song.getTitle());
+                unlockedSongs.addId(song.getId());
             }
         }
 
@@ -953,6 +1151,7 @@ public class MusicAppDemo extends Application {
     }
 
     public void stopCurrentSong() {
+        playbackEngine.cancelCrossfade();
         if (currentPlayer != null) {
             currentPlayer.stop();
             currentPlayer = null;
@@ -1013,7 +1212,7 @@ public class MusicAppDemo extends Application {
         saveConnectionSettings(host, port, slot, password);
 
         String gameName = connectionPanel.getGameName();
-        APClient.saveGameNameStatic(gameName);
+        ConfigPaths.setGameName(gameName);
 
         client = new APClient(host, port, slot, password);
 
@@ -1028,6 +1227,9 @@ public class MusicAppDemo extends Application {
 
         ensureGameDefaults(gameFolder.get());
         reloadGameLibrary(gameFolder.get());
+        configWatcher.watch(gameFolder.get());
+        checkJournal.open(gameFolder.get());
+        loadClientSettings();
 
         client.setOnErrorCallback(ex -> {
             connectionPanel.setStatus("Connection failed");
@@ -1043,7 +1245,7 @@ public class MusicAppDemo extends Application {
         try {
             client.getEventManager().registerListener(new ConnectionListener(connectionPanel.getStatusLabel(), client, this));
             client.getEventManager().registerListener(new ItemListener(this));
-            client.getEventManager().registerListener(new PrintJsonListener(client, this, connectionPanel.getTextClientWindow().getOutputArea()));
+            client.getEventManager().registerListener(new PrintJsonListener(client, this, connectionPanel.getTextClientWindow().getMessageLog()));
             client.connect();
             connectionPanel.setStatus("Connected!");
             connectionPanel.setConnectButtonText("Disconnect"); // toggle button text
@@ -1087,7 +1289,7 @@ public class MusicAppDemo extends Application {
                 }
             } else if ((currentPlayer == null || currentPlayer.getStatus() != MediaPlayer.Status.PLAYING) && !playQueue.isEmpty()) {
                 Song next = playQueue.poll();
-                updateQueueDisplay();
+                rearmPreload();
                 if (next != null) playSong(next);
             }
         });
@@ -1096,6 +1298,7 @@ public class MusicAppDemo extends Application {
             if (currentPlayer != null) {
                 MediaPlayer.Status status = currentPlayer.getStatus();
                 if (status == MediaPlayer.Status.PLAYING) {
+                    settleCrossfade();
                     currentPlayer.pause();
                     if (currentSong != null) playerPanel.setCurrentSongLabel("Paused: " + currentSong.getTitle());
                 } else if (status == MediaPlayer.Status.PAUSED) {
@@ -1124,35 +1327,33 @@ public class MusicAppDemo extends Application {
             if (repeatMode == RepeatMode.OFF) {
                 queueSnapshot = null;
             }
+            rearmPreload();
         });
 
-        // Remove selected from the queue (both ListView and underlying queue)
+        // Remove selected from the queue; the list view follows the queue
         panel.getRemoveSelectedBtn().setOnAction(_ -> {
-            Song sel = playerPanel.getQueueListView().getSelectionModel().getSelectedItem();
-            if (sel != null) {
-                removeFromQueue(sel);
-                updateQueueDisplay();
+            int index = playerPanel.getQueueListView().getSelectionModel().getSelectedIndex();
+            if (index >= 0 && index < playQueue.size()) {
+                playQueue.remove(index);
+                rearmPreload();
             }
         });
 
         // Clear queue
         panel.getClearQueueBtn().setOnAction(_ -> {
             playQueue.clear();
-            updateQueueDisplay();
+            rearmPreload();
         });
 
         // Shuffle queue
         panel.getShuffleQueueBtn().setOnAction(_ -> {
-            LinkedList<Song> temp = new LinkedList<>(playQueue);
-            java.util.Collections.shuffle(temp);
-            playQueue.clear();
-            playQueue.addAll(temp);
-            updateQueueDisplay();
+            playQueue.shuffle(ThreadLocalRandom.current());
+            rearmPreload();
         });
 
         // Save queue
         panel.getSaveQueueBtn().setOnAction(_ -> {
-            File queueFile = new File(getConfigDir(), "queue.json");
+            File queueFile = GameFile.QUEUE.file();
             List<Map<String, String>> entries = new ArrayList<>();
             for (Song song : playQueue) {
                 Map<String, String> entry = new HashMap<>();
@@ -1160,24 +1361,20 @@ public class MusicAppDemo extends Application {
                 entry.put("type", song.getType());
                 entries.add(entry);
             }
-            try (Writer writer = new FileWriter(queueFile, StandardCharsets.UTF_8)) {
-                new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(entries, writer);
-                LOGGER.info("Queue saved to {}", queueFile.getAbsolutePath());
-            } catch (IOException e) {
-                LOGGER.error("Failed to save queue", e);
-            }
+            ConfigWriter.save(queueFile, entries);
+            LOGGER.info("Saving queue to {}", queueFile.getAbsolutePath());
         });
 
         // Load queue
         panel.getLoadQueueBtn().setOnAction(_ -> {
-            File queueFile = new File(getConfigDir(), "queue.json");
+            File queueFile = GameFile.QUEUE.file();
             if (!queueFile.exists()) return;
             try (Reader reader = new FileReader(queueFile, StandardCharsets.UTF_8)) {
                 Type listType = new TypeToken<List<Map<String, String>>>() {}.getType();
                 List<Map<String, String>> entries = new Gson().fromJson(reader, listType);
                 if (entries == null) return;
 
-                LinkedList<Song> resolved = new LinkedList<>();
+                List<Song> resolved = new ArrayList<>(entries.size());
                 for (Map<String, String> entry : entries) {
                     String title = entry.get("title");
                     String type = entry.get("type");
@@ -1185,10 +1382,7 @@ public class MusicAppDemo extends Application {
                     for (Album album : albums) {
                         for (Song song : album.getSongs()) {
                             if (song.getTitle().equals(title) && song.getType().equals(type)) {
-                                boolean typeEnabled = enabledSets.contains(type);
-                                boolean songUnlocked = unlockedSongs.contains(title);
-                                boolean albumUnlocked = unlockedAlbums.contains(album.getName());
-                                if (typeEnabled && (album.isFullAlbumUnlock() || (songUnlocked && albumUnlocked))) {
+                                if (queueability.isPlayable(song)) {
                                     resolved.add(song);
                                 }
                             }
@@ -1196,15 +1390,24 @@ public class MusicAppDemo extends Application {
                     }
                 }
 
-                playQueue.clear();
-                playQueue.addAll(resolved);
-                updateQueueDisplay();
+                playQueue.setAll(resolved);
+                rearmPreload();
                 LOGGER.info("Queue loaded from {} ({} songs)", queueFile.getAbsolutePath(), playQueue.size());
             } catch (Exception e) {
                 LOGGER.error("Failed to load queue from {}", queueFile.getAbsolutePath(), e);
             }
         });
 
+        // Crossfade length is saved per game and applies from the current track on
+        panel.getCrossfadeSpinner().valueProperty().addListener((_, oldVal, newVal) -> {
+            if (newVal == null || newVal.equals(oldVal) || newVal == clientSettings.getCrossfadeSeconds()) return;
+            clientSettings.setCrossfadeSeconds(newVal);
+            clientSettings.save();
+            if (currentPlayer != null && currentSong != null && currentPlayer.getStatus() != MediaPlayer.Status.UNKNOWN) {
+                armCrossfadeMarker(currentPlayer, currentSong);
+            }
+        });
+
         // Volume slider updates live during playback
         panel.getVolumeSlider().valueProperty().addListener((_, _, newVal) -> {
             if (currentPlayer != null) {
@@ -1309,6 +1512,7 @@ public class MusicAppDemo extends Application {
         if (currentPlayer != null) {
             MediaPlayer.Status status = currentPlayer.getStatus();
             if (status == MediaPlayer.Status.PLAYING) {
+                settleCrossfade();
                 currentPlayer.pause();
                 if (currentSong != null) playerPanel.setCurrentSongLabel("Paused: " + currentSong.getTitle());
             } else if (status == MediaPlayer.Status.PAUSED) {
@@ -1317,7 +1521,7 @@ public class MusicAppDemo extends Application {
             }
         } else if (!playQueue.isEmpty()) {
             Song next = playQueue.poll();
-            updateQueueDisplay();
+            rearmPreload();
             if (next != null) playSong(next);
         }
     }
@@ -1391,20 +1595,15 @@ public class MusicAppDemo extends Application {
         }
     }
 
-    private void handleTreeSelection(TreeItem<String> newSel) {
-        if (newSel == null) return;
-
-        String songTitle = newSel.getValue();
-        Song song = library.getSongByTitle(songTitle);
-
-        if (song == null) return;
+    private void handleTreeSelection(TreeItem<Object> newSel) {
+        if (newSel == null || !(newSel.getValue() instanceof Song song)) return;
 
         // Don't re-queue the currently playing song (e.g. from highlightCurrentSong)
         if (song == currentSong) return;
 
-        Album album = library.getAlbumForSong(songTitle);
-        boolean songUnlocked = unlockedSongs.contains(song.getTitle());
-        boolean albumUnlocked = album != null && unlockedAlbums.contains(album.getName());
+        Album album = library.getAlbumForSong(song);
+        boolean songUnlocked = unlockedSongs.containsId(song.getId());
+        boolean albumUnlocked = album != null && unlockedAlbums.containsId(album.getId());
 
         // Check unlocking rules
         if (!songUnlocked || !albumUnlocked) {
@@ -1418,12 +1617,12 @@ public class MusicAppDemo extends Application {
 
         // Add to queue, song has passed checks
         playQueue.add(song);
-        updateQueueDisplay();
+        rearmPreload();
 
         // If nothing is playing, start immediately
         if (currentPlayer == null || currentPlayer.getStatus() != MediaPlayer.Status.PLAYING) {
             Song next = playQueue.poll();
-            updateQueueDisplay();
+            rearmPreload();
             if (next != null) {
                 playSong(next);
             }
@@ -1431,7 +1630,7 @@ public class MusicAppDemo extends Application {
     }
 
     private void initUIComponents() {
-        treeView = new TreeView<>();
+        treeView = new TreeView<>(treeModel.getRoot());
     }
 
     public AlbumLibrary getLibrary() {
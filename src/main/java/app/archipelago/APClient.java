@@ -1,32 +1,44 @@
 package app.archipelago;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import app.util.ConfigPaths;
 import com.google.gson.JsonElement;
 import io.github.archipelagomw.Client;
 import io.github.archipelagomw.flags.ItemsHandling;
+import io.github.archipelagomw.parts.Game;
 import javafx.application.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.Reader;
-import java.io.Writer;
-import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
-public class APClient extends Client {
+public class APClient extends Client implements CheckJournal.Session {
 
     private final String address;
     private Consumer<Exception> onErrorCallback;
     private String gameName;
     private JsonElement slotData;
 
+    private static final long CHECK_FLUSH_MILLIS = 250;
+    private static final ScheduledExecutorService checkFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "check-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile LocationIndex locationIndex;
+    private final Set<Long> checkOutbox = new LinkedHashSet<>(); // guarded by itself
+    private boolean flushScheduled;
+
     public static final Logger LOGGER = LoggerFactory.getLogger(APClient.class);
 
     public APClient(String host, int port, String slot, String password) {
@@ -37,7 +49,7 @@ public class APClient extends Client {
         this.address = host + ":" + port;
         setName(slot);
 
-        this.gameName = loadSavedGameName();
+        this.gameName = ConfigPaths.getGameName();
         setGame(this.gameName);
     }
 
@@ -53,6 +65,7 @@ public class APClient extends Client {
     @Override
     public void disconnect() {
         if (isConnected()) {
+            flushChecks();
             super.disconnect();
         }
     }
@@ -70,163 +83,94 @@ public class APClient extends Client {
         disconnect();
     }
 
-    public void sendCheck(String locationName) {
-        Long locationID = getDataPackage().getGame(getGame()).locationNameToId.get(locationName);
-
-        if (locationID != null) {
-            checkLocation(locationID);
-        } else {
-            LOGGER.warn("No location ID found for location: {}", locationName);
-        }
-    }
-
-    // persistency helpers to save/load the game name
-
-    public void setGameName(String name) {
-        this.gameName = name;
-        setGame(name);
-        saveGameName(name);
-
-        File gameDir = getGameDataFolder();
-        if (!gameDir.exists()) {
-            if (gameDir.mkdirs()) {
-                LOGGER.info("Created new game folder: {}", gameDir.getAbsolutePath());
-            }
+    /** Resolves location names from the data package; call once the connection has succeeded. */
+    public void indexLocations() {
+        Game game = getDataPackage() != null ? getDataPackage().getGame(getGame()) : null;
+        if (game == null || game.locationNameToId == null) {
+            LOGGER.warn("No data package for {}, location checks will not resolve", getGame());
+            return;
         }
+        locationIndex = new LocationIndex(game.locationNameToId);
+        LOGGER.info("Indexed {} locations for {}", locationIndex.size(), getGame());
+        flushChecks(); // anything finished while connecting
     }
 
-    @SuppressWarnings("unused")
-    public String getGameName() {
-        return this.gameName;
-    }
-
-    private void saveGameName(String name) {
-        File configFile = getGameConfigFile();
-        try (Writer writer = new FileWriter(configFile, StandardCharsets.UTF_8)) {
-            new GsonBuilder().setPrettyPrinting().create().toJson(name, writer);
-        } catch (IOException e) {
-            LOGGER.error("Failed to save game name to {}", configFile.getAbsolutePath(), e);
-        }
+    @Override
+    public boolean hasLocationIndex() {
+        if (locationIndex == null) indexLocations();
+        return locationIndex != null;
     }
 
-    private String loadSavedGameName() {
-        File configFile = getGameConfigFile();
-        if (configFile.exists()) {
-            try (Reader reader = new FileReader(configFile, StandardCharsets.UTF_8)) {
-                return new Gson().fromJson(reader, String.class);
-            } catch (IOException e) {
-                LOGGER.error("Failed to load saved game name from {}", configFile.getAbsolutePath(), e);
-            }
-        }
-        // fallback default
-        return "Manual_TaylorSwiftDiscography_bennydreamly";
+    @Override
+    public Collection<Long> checkedLocations() {
+        return getLocationManager() != null ? getLocationManager().getCheckedLocations() : null;
     }
 
-    private File getGameConfigFile() {
-        String userHome = System.getProperty("user.home");
-        File baseDir;
-
-        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
-        if (os.contains("win")) {
-            baseDir = new File(userHome, "AppData\\Roaming\\MusicAppDemo");
-        } else if (os.contains("mac")) {
-            baseDir = new File(userHome, "Library/Application Support/MusicAppDemo");
-        } else {
-            baseDir = new File(userHome, ".config/MusicAppDemo");
-        }
-
-
-        if (!baseDir.exists()) {
-            //noinspection ResultOfMethodCallIgnored
-            baseDir.mkdirs();
-        }
-
-        return new File(baseDir, "currentGame.json"); // <-- removed config subfolder
+    /** The location ID for the name, or null if it is unknown or no data package has arrived. */
+    @Override
+    public Long resolveLocation(String locationName) {
+        if (locationIndex == null) indexLocations();
+        return locationIndex != null ? locationIndex.resolve(locationName) : null;
     }
 
-    private File getGameDataFolder() {
-        if (gameName == null || gameName.isEmpty()) {
-            gameName = loadSavedGameName();
-        }
-
-        File baseDir;
-        String userHome = System.getProperty("user.home");
-        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+    /** Queues a check; checks queued within the flush window go out as one LocationChecks packet. */
+    public void sendCheck(String locationName) {
+        Long locationID = resolveLocation(locationName);
 
-        if (os.contains("win")) {
-            baseDir = new File(userHome, "AppData\\Roaming\\MusicAppDemo");
-        } else if (os.contains("mac")) {
-            baseDir = new File(userHome, "Library/Application Support/MusicAppDemo");
-        } else {
-            baseDir = new File(userHome, ".config/MusicAppDemo");
+        if (locationID == null) {
+            LOGGER.warn("No location ID found for location: {}", locationName);
+            return;
         }
 
-        return new File(baseDir, gameName);
-    }
-
-    public static String loadSavedGameNameStatic() {
-        File configFile = getGameConfigFileStatic();
-        if (configFile.exists()) {
-            try (Reader reader = new FileReader(configFile, StandardCharsets.UTF_8)) {
-                return new Gson().fromJson(reader, String.class);
-            } catch (IOException e) {
-                LOGGER.error("Failed to load saved game name from {}", configFile.getAbsolutePath(), e);
+        synchronized (checkOutbox) {
+            checkOutbox.add(locationID);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                checkFlusher.schedule(this::flushChecks, CHECK_FLUSH_MILLIS, TimeUnit.MILLISECONDS);
             }
         }
-        return "Manual_TaylorSwiftDiscography_bennydreamly";
     }
 
-    public static void saveGameNameStatic(String name) {
-        File configFile = getGameConfigFileStatic();
-        try (Writer writer = new FileWriter(configFile, StandardCharsets.UTF_8)) {
-            new GsonBuilder().setPrettyPrinting().create().toJson(name, writer);
-        } catch (IOException e) {
-            LOGGER.error("Failed to save game name to {}", configFile.getAbsolutePath(), e);
+    /** Sends the given checks together with anything already queued, without waiting. */
+    @Override
+    public void sendChecks(Collection<Long> locationIDs) {
+        synchronized (checkOutbox) {
+            checkOutbox.addAll(locationIDs);
         }
+        flushChecks();
     }
 
-    private static File getGameConfigFileStatic() {
-        String userHome = System.getProperty("user.home");
-        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
-        File baseDir;
-
-        if (os.contains("win")) {
-            baseDir = new File(userHome, "AppData\\Roaming\\MusicAppDemo");
-        } else if (os.contains("mac")) {
-            baseDir = new File(userHome, "Library/Application Support/MusicAppDemo");
-        } else {
-            baseDir = new File(userHome, ".config/MusicAppDemo");
-        }
-
-        if (!baseDir.exists()) {
-            //noinspection ResultOfMethodCallIgnored
-            baseDir.mkdirs();
+    /** Sends every queued check now. Checks stay queued while disconnected. */
+    public void flushChecks() {
+        List<Long> batch;
+        synchronized (checkOutbox) {
+            flushScheduled = false;
+            if (checkOutbox.isEmpty() || !isConnected()) return;
+            batch = new ArrayList<>(checkOutbox);
+            checkOutbox.clear();
         }
-
-        return new File(baseDir, "currentGame.json"); // <-- removed config subfolder
+        checkLocations(batch);
+        LOGGER.info("Sent {} location check(s)", batch.size());
     }
 
+    // persistency helpers to save/load the game name
 
-    public static File getGameDataFolderStatic() {
-        String gameName = loadSavedGameNameStatic();
-        String userHome = System.getProperty("user.home");
-        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
-        File baseDir;
+    public void setGameName(String name) {
+        this.gameName = name;
+        setGame(name);
+        ConfigPaths.setGameName(name);
 
-        if (os.contains("win")) {
-            baseDir = new File(userHome, "AppData\\Roaming\\MusicAppDemo");
-        } else if (os.contains("mac")) {
-            baseDir = new File(userHome, "Library/Application Support/MusicAppDemo");
-        } else {
-            baseDir = new File(userHome, ".config/MusicAppDemo");
+        File gameDir = ConfigPaths.getGameDir(name);
+        if (!gameDir.exists()) {
+            if (gameDir.mkdirs()) {
+                LOGGER.info("Created new game folder: {}", gameDir.getAbsolutePath());
+            }
         }
+    }
 
-        File dir = new File(baseDir, gameName);
-        if (!dir.exists()) {
-            //noinspection ResultOfMethodCallIgnored
-            dir.mkdirs();
-        }
-        return dir;
+    @SuppressWarnings("unused")
+    public String getGameName() {
+        return this.gameName;
     }
 
     public void setSlotData(JsonElement slotData) {
@@ -0,0 +1,110 @@
+package app.archipelago;
+
+import app.util.ConfigWriter;
+import app.util.GameFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Append-only record of every location completed while a session is active, one name per line
+ * in checks.journal. A check that couldn't be sent because the socket had dropped is still in
+ * here, and {@link #replay} sends it once the next connection succeeds.
+ * <p>
+ * Entries stay until the server lists them as checked, so a check lost in flight is simply sent
+ * again; the server ignores repeats.
+ */
+public class CheckJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckJournal.class);
+
+    /** The parts of a connection that {@link #replay} needs; implemented by {@link APClient}. */
+    public interface Session {
+        /** Whether location names can be resolved at all, i.e. the data package was indexed. */
+        boolean hasLocationIndex();
+
+        /** The location ID for the name, or null if this game has no such location. */
+        Long resolveLocation(String locationName);
+
+        /** Location IDs the server already lists as checked, or null if not known yet. */
+        Collection<Long> checkedLocations();
+
+        void sendChecks(Collection<Long> locationIDs);
+    }
+
+    private File file;
+    private final Set<String> recorded = new LinkedHashSet<>();
+
+    /** Switches to the journal in the given game folder, reading what it already holds. */
+    public synchronized void open(File gameDir) {
+        file = GameFile.CHECK_JOURNAL.in(gameDir);
+        recorded.clear();
+        if (!file.exists()) return;
+
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) recorded.add(line);
+            }
+            LOGGER.info("Loaded {} journaled checks from {}", recorded.size(), file.getAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.error("Failed to read check journal {}", file.getAbsolutePath(), e);
+        }
+    }
+
+    /** Appends the location unless it is already journaled. */
+    public synchronized void record(String locationName) {
+        if (file == null || !recorded.add(locationName)) return;
+
+        try {
+            Files.writeString(file.toPath(), locationName + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOGGER.error("Failed to journal check for {}", locationName, e);
+        }
+    }
+
+    /**
+     * Sends every journaled check the server doesn't list as checked yet, in one batch, and drops
+     * the entries that are already checked or aren't locations in this game. Without a location
+     * index nothing can be told apart, so the journal is left untouched until the next connect.
+     */
+    public synchronized void replay(Session session) {
+        if (file == null || recorded.isEmpty()) return;
+        if (!session.hasLocationIndex()) {
+            LOGGER.warn("No location index, keeping {} journaled checks for the next connection", recorded.size());
+            return;
+        }
+
+        Collection<Long> checked = session.checkedLocations();
+
+        List<Long> unsent = new ArrayList<>();
+        Set<String> keep = new LinkedHashSet<>();
+        for (String name : recorded) {
+            Long id = session.resolveLocation(name);
+            if (id == null) continue;
+            if (checked != null && checked.contains(id)) continue;
+            unsent.add(id);
+            keep.add(name);
+        }
+
+        if (!unsent.isEmpty()) {
+            session.sendChecks(unsent);
+            LOGGER.info("Replayed {} journaled check(s)", unsent.size());
+        }
+
+        if (keep.size() != recorded.size()) {
+            recorded.retainAll(keep);
+            ConfigWriter.saveNowText(file, recorded.isEmpty() ? "" : String.join("\n", recorded) + "\n");
+        }
+    }
+}
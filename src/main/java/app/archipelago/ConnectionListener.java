@@ -36,6 +36,8 @@ public class ConnectionListener {
                 //app.addTextToOutputArea(slotData.getAsString() + "\n");
                 //System.out.println(slotData);
                 client.setSlotData(slotData);
+                client.indexLocations();
+                app.replayJournaledChecks();
                 statusLabel.setText("Connected!");
 
                 app.applySlotData();
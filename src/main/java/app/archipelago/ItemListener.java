@@ -3,11 +3,12 @@ package app.archipelago;
 import app.MusicAppDemo;
 import app.player.Album;
 import app.player.Song;
+import app.util.FxBatchQueue;
 import io.github.archipelagomw.events.ArchipelagoEventListener;
 import io.github.archipelagomw.events.ReceiveItemEvent;
-import javafx.application.Platform;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static app.MusicAppDemo.LOGGER;
@@ -20,6 +21,10 @@ public class ItemListener {
     private final Set<String> receivedVaultTracks = new HashSet<>();
     private final Set<String> receivedRerecordings = new HashSet<>();
 
+    private final FxBatchQueue<ReceivedItem> ingestQueue = new FxBatchQueue<>(this::applyBatch);
+
+    private record ReceivedItem(String itemName, String locationName) {}
+
     public ItemListener(MusicAppDemo app) {
         this.app = app;
     }
@@ -27,69 +32,90 @@ public class ItemListener {
     @SuppressWarnings("unused")
     @ArchipelagoEventListener
     public void onReceiveItem(ReceiveItemEvent event) {
-        String itemName = event.getItemName();
-        String locationName = event.getLocationName();
-
-        Platform.runLater(() -> {
-            switch (itemName) {
-                case "Vault Tracks" -> // Optionally unlock the vault songs if you want immediate access
-                    app.getEnabledSets().add("vault");
-                case "Re-recordings" -> // Unlock the rerecorded albums
-                    app.getEnabledSets().add("rerecording");
-                default -> {
-                    // Normalize for album lookup only
-                    String normalizedItemName = itemName;
-                    boolean isAlbumItem = false;
-                    if (itemName.endsWith("(Album)")) {
-                        normalizedItemName = itemName.replace("(Album)", "").trim();
-                        isAlbumItem = true;
-                    }
+        ingestQueue.submit(new ReceivedItem(event.getItemName(), event.getLocationName()));
+    }
 
-                    Album album = app.getLibrary().getAlbumByName(normalizedItemName);
-                    Song song = app.getLibrary().getSongByTitle(normalizedItemName);
-
-                    // 1. Full-album unlocks (Taylor Swift style)
-                    if (album != null && album.isFullAlbumUnlock()) {
-                        // Full-album unlock: only if item name matches album
-                        if (normalizedItemName.equalsIgnoreCase(album.getName())) {
-                            for (Song s : album.getSongs()) {
-                                app.getUnlockedSongs().add(s.getTitle());
-                            }
-                            app.getUnlockedAlbums().add(album.getName());
-                        }
-                        // Enable the album type so songs show
-                        app.getEnabledSets().add(album.getType());
-                    }
-                    // 2. Non-full album item (Glass Animals style)
-                    else if (album != null && isAlbumItem) {
-                        // Glass Animals–style album item received
-                        app.getUnlockedAlbums().add(album.getName()); // <— ADD THIS
-                        app.getEnabledSets().add(album.getType());
-                    }
-                    // 3. Song item (single-song unlock)
-                    else if (song != null) {
-                        // Single-song unlock (Glass Animals style)
-                        app.getUnlockedSongs().add(song.getTitle());
-
-                        // Also mark the parent album as "unlocked" for play checks
-                        Album parentAlbum = app.getLibrary().getAlbumForSong(song.getTitle());
-                        if (parentAlbum != null) {
-                            // app.getUnlockedAlbums().add(parentAlbum.getName());
-                            app.getEnabledSets().add(parentAlbum.getType());
+    // Runs on the FX thread with every item received since the last pulse
+    private void applyBatch(List<ReceivedItem> batch) {
+        for (ReceivedItem item : batch) {
+            applyItem(item.itemName());
+            LOGGER.info("Received item: {} from {}", item.itemName(), item.locationName());
+        }
+
+        app.refreshTree();
+
+        LOGGER.debug("Applied {} received items in one batch ({} batches so far)", batch.size(), ingestQueue.getBatchCount());
+    }
+
+    private void applyItem(String itemName) {
+        switch (itemName) {
+            case "Vault Tracks" -> // Optionally unlock the vault songs if you want immediate access
+                app.getEnabledSets().add("vault");
+            case "Re-recordings" -> // Unlock the rerecorded albums
+                app.getEnabledSets().add("rerecording");
+            default -> {
+                // Normalize for album lookup only
+                String normalizedItemName = itemName;
+                boolean isAlbumItem = false;
+                if (itemName.endsWith("(Album)")) {
+                    normalizedItemName = itemName.replace("(Album)", "").trim();
+                    isAlbumItem = true;
+                }
+
+                Album album = app.getLibrary().getAlbumByName(normalizedItemName);
+                Song song = app.getLibrary().getSongByTitle(normalizedItemName);
+
+                // 1. Full-album unlocks (Taylor Swift style)
+                if (album != null && album.isFullAlbumUnlock()) {
+                    // Full-album unlock: only if item name matches album
+                    if (normalizedItemName.equalsIgnoreCase(album.getName())) {
+                        for (Song s : album.getSongs()) {
+                            app.getUnlockedSongs().addId(s.getId());
                         }
-                    } else if (album != null) {
-                        // Catch-all for album items that aren't full-album or song items
                         app.getUnlockedAlbums().add(album.getName());
-                        app.getEnabledSets().add(album.getType());
                     }
-
+                    // Enable the album type so songs show
+                    app.getEnabledSets().add(album.getType());
+                }
+                // 2. Non-full album item (Glass Animals style)
+                else if (album != null && isAlbumItem) {
+                    // Glass Animals–style album item received
+                    app.getUnlockedAlbums().add(album.getName()); // <— ADD THIS
+                    app.getEnabledSets().add(album.getType());
+                }
+                // 3. Song item (single-song unlock)
+                else if (song != null) {
+                    // Single-song unlock (Glass Animals style). The item only names the title,
+                    // so every song with that title is unlocked
+                    app.getUnlockedSongs().add(song.getTitle());
+
+                    // Also mark the parent album as "unlocked" for play checks
+                    Album parentAlbum = app.getLibrary().getAlbumForSong(song);
+                    if (parentAlbum != null) {
+                        // app.getUnlockedAlbums().add(parentAlbum.getName());
+                        app.getEnabledSets().add(parentAlbum.getType());
+                    }
+                } else if (album != null) {
+                    // Catch-all for album items that aren't full-album or song items
+                    app.getUnlockedAlbums().add(album.getName());
+                    app.getEnabledSets().add(album.getType());
                 }
+
             }
+        }
+    }
 
-            app.refreshTree();
+    /** Number of items applied in the most recent batch, for diagnostics. */
+    public int getLastBatchSize() {
+        return ingestQueue.getLastBatchSize();
+    }
+
+    public long getBatchCount() {
+        return ingestQueue.getBatchCount();
+    }
 
-            LOGGER.info("Received item: {} from {}", itemName, locationName);
-        });
+    public long getReceivedItemCount() {
+        return ingestQueue.getItemCount();
     }
 
         @SuppressWarnings("unused")
@@ -0,0 +1,49 @@
+package app.archipelago;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static app.util.Normalization.normalizeSongTitle;
+
+/**
+ * Location name to ID lookup, built once from the data package when a connection succeeds.
+ * Names are matched exactly first, then by their normalized form (underscores and repeated
+ * spaces collapsed, case ignored). A normalized form shared by two locations is dropped,
+ * so a near-miss title never checks the wrong location.
+ */
+public class LocationIndex {
+
+    private final Map<String, Long> exact;
+    private final Map<String, Long> normalized = new HashMap<>();
+
+    public LocationIndex(Map<String, Long> locationNameToId) {
+        this.exact = new HashMap<>(locationNameToId);
+
+        Set<String> ambiguous = new HashSet<>();
+        for (Map.Entry<String, Long> entry : locationNameToId.entrySet()) {
+            String key = normalize(entry.getKey());
+            Long previous = normalized.putIfAbsent(key, entry.getValue());
+            if (previous != null && !previous.equals(entry.getValue())) {
+                ambiguous.add(key);
+            }
+        }
+        normalized.keySet().removeAll(ambiguous);
+    }
+
+    /** The location ID for the name, or null if it is unknown or ambiguous. */
+    public Long resolve(String locationName) {
+        Long id = exact.get(locationName);
+        return id != null ? id : normalized.get(normalize(locationName));
+    }
+
+    public int size() {
+        return exact.size();
+    }
+
+    private static String normalize(String name) {
+        return normalizeSongTitle(name).toLowerCase(Locale.ROOT);
+    }
+}
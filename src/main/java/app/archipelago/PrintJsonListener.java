@@ -1,26 +1,26 @@
 package app.archipelago;
 
 import app.MusicAppDemo;
+import app.util.FxBatchQueue;
+import app.util.MessageLog;
 import io.github.archipelagomw.events.ArchipelagoEventListener;
 import io.github.archipelagomw.events.PrintJSONEvent;
 import io.github.archipelagomw.Print.APPrint;
 import io.github.archipelagomw.Print.APPrintJsonType;
-import javafx.application.Platform;
-import javafx.scene.control.TextArea;
 
-@SuppressWarnings("ClassCanBeRecord")
 public class PrintJsonListener {
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
     private final APClient client;
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
     private final MusicAppDemo app;
-    private final TextArea outputArea; // <-- add this
+    // Lines arriving together reach the log as one batch instead of one runLater each
+    private final FxBatchQueue<String> pendingLines;
 
 
-    public PrintJsonListener(APClient client, MusicAppDemo app, TextArea outputArea) {
+    public PrintJsonListener(APClient client, MusicAppDemo app, MessageLog messageLog) {
         this.client = client;
         this.app = app;
-        this.outputArea = outputArea;
+        this.pendingLines = new FxBatchQueue<>(messageLog::append);
     }
 
     @SuppressWarnings("unused")
@@ -40,7 +40,6 @@ public class PrintJsonListener {
 
         String text = print.getPlainText(); // instance method
 
-        Platform.runLater(() -> outputArea.appendText(text + "\n"));
-
+        pendingLines.submit(text);
     }
 }
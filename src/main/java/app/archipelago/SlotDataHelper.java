@@ -1,5 +1,6 @@
 package app.archipelago;
 
+import app.util.GameFile;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import org.slf4j.Logger;
@@ -22,7 +23,7 @@ public class SlotDataHelper {
     private static Map<String, SlotOption> slotOptions = Collections.emptyMap();
 
     public static void loadSlotOptions(File configDir) {
-        File file = new File(configDir, "slot_data.json");
+        File file = GameFile.SLOT_DATA.in(configDir);
         if (!file.exists()) {
             System.err.println("No slot_data.json found in " + configDir.getAbsolutePath());
             return;
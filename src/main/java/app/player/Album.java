@@ -19,6 +19,8 @@ public class Album {
 
     private boolean fullAlbumUnlock = false; // <-- non Taylor Swift style flag
 
+    private int id = -1; // dense library-wide ID, assigned by AlbumConverter.assignIds
+
     public Album(String name, String type) {
         this.name = name;
         this.type = type;
@@ -46,6 +48,14 @@ public class Album {
         return type;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     @SuppressWarnings("unused")
     public Song getSong(String title) {
         for (Song song : songs) {
@@ -69,6 +79,7 @@ public class Album {
     @SuppressWarnings("unused")
     public void setFullAlbumUnlock(boolean fullAlbumUnlock) { this.fullAlbumUnlock = fullAlbumUnlock; }
 
+    /** Set-based check; the app itself reads the precomputed mask in {@link Queueability}. */
     public List<Song> getQueueableSongs(Set<String> enabledSets, Set<String> unlockedSongs, Set<String> unlockedAlbums) {
         List<Song> queueable = new ArrayList<>();
         boolean albumUnlocked = unlockedAlbums.contains(name);
@@ -1,58 +1,90 @@
 package app.player;
 
 import app.player.json.AlbumMetadata;
-import app.player.json.SongJSON;
 
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
 
-@SuppressWarnings("ClassCanBeRecord")
+/**
+ * Groups locations into albums. Locations are passed one at a time with
+ * {@link #add(String, String, List)} as they are streamed from the JSON, followed by {@link #getAlbums()}.
+ */
 public class AlbumConverter {
 
     private final Map<String, AlbumMetadata> albumMetadata;
+    private final Map<String, Album> albums = new HashMap<>();
+    private int songCount = 0;
+    private int skippedCount = 0;
 
     public AlbumConverter(Map<String, AlbumMetadata> albumMetadata) {
         this.albumMetadata = albumMetadata;
     }
 
-    public List<Album> convert(List<SongJSON> rawSongs) {
-        Map<String, Album> albums = new HashMap<>();
+    /** Adds a single location to its album, creating the album on first sight. */
+    public void add(String name, String region, List<String> categories) {
+        // Skip bonus locations
+        if ("Bonus Locations".equalsIgnoreCase(region)) {
+            skippedCount++;
+            return;
+        }
 
-        for (SongJSON raw : rawSongs) {
-            // Skip bonus locations
-            if ("Bonus Locations".equalsIgnoreCase(raw.region)) {
-                continue;
-            }
+        List<String> category = categories != null ? categories : List.of();
+        String albumKey = (region == null || region.isBlank()) ? "Songs" : region;
 
-            String albumKey = (raw.region == null || raw.region.isBlank()) ? "Songs" : raw.region;
-
-            Album album = albums.computeIfAbsent(
-                    albumKey,
-                    name -> {
-                        boolean fullUnlock = albumMetadata.getOrDefault(name, new AlbumMetadata(false)).isFullAlbumUnlock();
-                        return new Album(name, detectAlbumType(raw.category), fullUnlock);
-                    }
-            );
-
-            String songType;
-            if (raw.category.contains("Short Songs")) {
-                songType = "short";
-            } else if (raw.category.contains("Re-recordings")) {
-                songType = "rerecording";
-            } else {
-                songType = "standard";
-            }
+        Album album = albums.computeIfAbsent(
+                albumKey,
+                albumName -> {
+                    boolean fullUnlock = albumMetadata.getOrDefault(albumName, new AlbumMetadata(false)).isFullAlbumUnlock();
+                    return new Album(albumName, detectAlbumType(category), fullUnlock);
+                }
+        );
 
-            album.addSong(new Song(raw.name, songType));
+        String songType;
+        if (category.contains("Short Songs")) {
+            songType = "short";
+        } else if (category.contains("Re-recordings")) {
+            songType = "rerecording";
+        } else {
+            songType = "standard";
         }
 
-        return new ArrayList<>(albums.values());
+        album.addSong(new Song(name, songType));
+        songCount++;
+    }
+
+    public List<Album> getAlbums() {
+        List<Album> result = new ArrayList<>(albums.values());
+        assignIds(result);
+        return result;
+    }
+
+    /**
+     * Numbers albums 0..n-1 in list order and songs 0..m-1 across the whole library, with each
+     * album's songs contiguous. Any loader that builds albums outside this class must call it too.
+     */
+    public static void assignIds(List<Album> albums) {
+        int songId = 0;
+        for (int albumId = 0; albumId < albums.size(); albumId++) {
+            Album album = albums.get(albumId);
+            album.setId(albumId);
+            for (Song song : album.getSongs()) {
+                song.setId(songId++);
+            }
+        }
+    }
+
+    public int getSongCount() {
+        return songCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
     }
 
     private String detectAlbumType(List<String> categories) {
         if (categories.contains("Re-recordings")) return "rerecording";
         return "standard";
     }
-}
\ No newline at end of file
+}
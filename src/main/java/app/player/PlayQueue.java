@@ -0,0 +1,231 @@
+package app.player;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The play queue, stored in a circular array. Adding and taking songs at either end is O(1),
+ * indexed access is O(1), and removing or moving a song only shifts the songs between the two
+ * positions (on the shorter side for removals).
+ * <p>
+ * It is an observable list so the queue view can show it directly: every edit is reported as
+ * the smallest add, remove or permutation change, and the view only touches the rows involved.
+ * Like any list backing a control, it must only be changed on the FX thread.
+ */
+public class PlayQueue extends ObservableListBase<Song> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Song[] elements = new Song[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Song get(int index) {
+        checkIndex(index);
+        return elements[slot(index)];
+    }
+
+    public Song peek() {
+        return size == 0 ? null : elements[head];
+    }
+
+    /** Takes the song at the front, or returns null if the queue is empty. */
+    public Song poll() {
+        return size == 0 ? null : remove(0);
+    }
+
+    @Override
+    public boolean add(Song song) {
+        ensureCapacity(size + 1);
+        elements[slot(size)] = song;
+        size++;
+
+        beginChange();
+        nextAdd(size - 1, size);
+        endChange();
+        return true;
+    }
+
+    public void addFirst(Song song) {
+        ensureCapacity(size + 1);
+        head = (head - 1 + elements.length) % elements.length;
+        elements[head] = song;
+        size++;
+
+        beginChange();
+        nextAdd(0, 1);
+        endChange();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Song> songs) {
+        if (songs.isEmpty()) return false;
+        int from = size;
+        append(songs);
+
+        beginChange();
+        nextAdd(from, size);
+        endChange();
+        return true;
+    }
+
+    /** Replaces the whole queue in one change. */
+    @Override
+    public boolean setAll(Collection<? extends Song> songs) {
+        if (size == 0 && songs.isEmpty()) return false;
+        List<Song> removed = new ArrayList<>(this);
+        clearElements();
+        append(songs);
+
+        beginChange();
+        nextReplace(0, size, removed);
+        endChange();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) return;
+        List<Song> removed = new ArrayList<>(this);
+        clearElements();
+
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    @Override
+    public Song remove(int index) {
+        checkIndex(index);
+        Song song = elements[slot(index)];
+
+        // Close the gap from whichever end is nearer
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                elements[slot(i)] = elements[slot(i - 1)];
+            }
+            elements[head] = null;
+            head = (head + 1) % elements.length;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[slot(i)] = elements[slot(i + 1)];
+            }
+            elements[slot(size - 1)] = null;
+        }
+        size--;
+
+        beginChange();
+        nextRemove(index, song);
+        endChange();
+        return song;
+    }
+
+    /** Moves the song at {@code from} so that it ends up at index {@code to}. */
+    public void move(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+        if (from == to) return;
+
+        int low = Math.min(from, to);
+        int high = Math.max(from, to);
+        int[] permutation = new int[high - low + 1];
+
+        Song song = elements[slot(from)];
+        if (from < to) {
+            for (int i = from; i < to; i++) {
+                elements[slot(i)] = elements[slot(i + 1)];
+                permutation[i + 1 - low] = i;
+            }
+        } else {
+            for (int i = from; i > to; i--) {
+                elements[slot(i)] = elements[slot(i - 1)];
+                permutation[i - 1 - low] = i;
+            }
+        }
+        elements[slot(to)] = song;
+        permutation[from - low] = to;
+
+        beginChange();
+        nextPermutation(low, high + 1, permutation);
+        endChange();
+    }
+
+    /** Fisher–Yates shuffle in place, reported as a single permutation. */
+    public void shuffle(Random random) {
+        if (size < 2) return;
+
+        // origin[i] is the index the song now at i started from
+        int[] origin = new int[size];
+        for (int i = 0; i < size; i++) origin[i] = i;
+
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int a = slot(i);
+            int b = slot(j);
+            Song tmp = elements[a];
+            elements[a] = elements[b];
+            elements[b] = tmp;
+
+            int o = origin[i];
+            origin[i] = origin[j];
+            origin[j] = o;
+        }
+
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) permutation[origin[i]] = i;
+
+        beginChange();
+        nextPermutation(0, size, permutation);
+        endChange();
+    }
+
+    private int slot(int index) {
+        int slot = head + index;
+        return slot < elements.length ? slot : slot - elements.length;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for queue of " + size);
+        }
+    }
+
+    private void append(Collection<? extends Song> songs) {
+        ensureCapacity(size + songs.size());
+        for (Song song : songs) {
+            elements[slot(size)] = song;
+            size++;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= elements.length) return;
+
+        int newLength = elements.length;
+        while (newLength < capacity) newLength *= 2;
+        Song[] grown = new Song[newLength];
+        for (int i = 0; i < size; i++) {
+            grown[i] = elements[slot(i)];
+        }
+        elements = grown;
+        head = 0;
+    }
+
+    private void clearElements() {
+        for (int i = 0; i < size; i++) {
+            elements[slot(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,175 @@
+package app.player;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Paths;
+
+/**
+ * Owns the {@link MediaPlayer} for the track that will play next, so it is already
+ * decoded and pre-rolled by the time the current track ends.
+ * All methods must be called on the FX thread.
+ */
+public class PlaybackEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlaybackEngine.class);
+
+    private Song preloadedSong;
+    private MediaPlayer preloadedPlayer;
+
+    private long endOfMediaNanos = -1;
+
+    private Timeline crossfade;
+    private MediaPlayer fadingOut;
+
+    /**
+     * Returns a player for the given song, handing over the preloaded one when it matches.
+     * A preload for a different song is left in place, it may still be the next track.
+     */
+    public MediaPlayer acquire(Song song) {
+        MediaPlayer player;
+        if (song == preloadedSong && preloadedPlayer != null
+                && preloadedPlayer.getStatus() != MediaPlayer.Status.HALTED) {
+            player = preloadedPlayer;
+            player.setOnReady(null);
+            player.setOnError(null);
+            preloadedPlayer = null;
+            preloadedSong = null;
+            LOGGER.debug("Using preloaded player for {}", song.getTitle());
+        } else {
+            if (song == preloadedSong) discardPreloaded();
+            player = createPlayer(song);
+        }
+
+        trackGap(player, song);
+        return player;
+    }
+
+    /**
+     * Prepares the player for the song that is expected to play next.
+     * Passing {@code null} (or a song without a playable file) drops any existing preload.
+     */
+    public void preload(Song song) {
+        if (song == null || song.getFilePath() == null || !new File(song.getFilePath()).exists()) {
+            discardPreloaded();
+            return;
+        }
+        if (song == preloadedSong && preloadedPlayer != null) return;
+
+        discardPreloaded();
+
+        MediaPlayer player = createPlayer(song);
+        preloadedSong = song;
+        preloadedPlayer = player;
+
+        // Pausing a READY player primes the decoder pipeline without producing audio
+        player.setOnReady(player::pause);
+        player.setOnError(() -> {
+            LOGGER.debug("Preload failed for {}: {}", song.getTitle(), player.getError());
+            if (preloadedPlayer == player) discardPreloaded();
+        });
+        LOGGER.debug("Preloading {}", song.getTitle());
+    }
+
+    /** Call when the current track reaches its end, so the gap to the next track can be measured. */
+    public void markEndOfMedia() {
+        endOfMediaNanos = System.nanoTime();
+    }
+
+    public void discardPreloaded() {
+        if (preloadedPlayer != null) {
+            preloadedPlayer.dispose();
+        }
+        preloadedPlayer = null;
+        preloadedSong = null;
+    }
+
+    /**
+     * Starts {@code incoming} silently and overlaps it with the tail of {@code outgoing}.
+     * Both volume ramps run on a single timeline; the outgoing player is disposed when
+     * the fade completes or is cancelled.
+     */
+    public void crossfade(MediaPlayer outgoing, MediaPlayer incoming, Duration length,
+                          double targetVolume, Runnable onFinished) {
+        cancelCrossfade();
+        fadingOut = outgoing;
+
+        incoming.setVolume(0);
+        Timeline timeline = new Timeline(
+                new KeyFrame(Duration.ZERO,
+                        new KeyValue(outgoing.volumeProperty(), outgoing.getVolume()),
+                        new KeyValue(incoming.volumeProperty(), 0.0)),
+                new KeyFrame(length,
+                        new KeyValue(outgoing.volumeProperty(), 0.0),
+                        new KeyValue(incoming.volumeProperty(), targetVolume)));
+        timeline.setOnFinished(_ -> {
+            crossfade = null;
+            releaseFadingOut();
+            if (onFinished != null) onFinished.run();
+        });
+        crossfade = timeline;
+
+        incoming.play();
+        timeline.play();
+    }
+
+    public boolean isCrossfading() {
+        return crossfade != null;
+    }
+
+    /** Stops a running fade immediately and releases the outgoing player. */
+    public void cancelCrossfade() {
+        if (crossfade != null) {
+            crossfade.stop();
+            crossfade = null;
+        }
+        releaseFadingOut();
+    }
+
+    private void releaseFadingOut() {
+        if (fadingOut != null) {
+            fadingOut.stop();
+            fadingOut.dispose();
+            fadingOut = null;
+        }
+    }
+
+    public void dispose() {
+        cancelCrossfade();
+        discardPreloaded();
+        endOfMediaNanos = -1;
+    }
+
+    private MediaPlayer createPlayer(Song song) {
+        Media media = new Media(Paths.get(song.getFilePath()).toUri().toString());
+        return new MediaPlayer(media);
+    }
+
+    private void trackGap(MediaPlayer player, Song song) {
+        if (endOfMediaNanos < 0) return;
+        long endedAt = endOfMediaNanos;
+        endOfMediaNanos = -1;
+
+        player.statusProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends MediaPlayer.Status> obs,
+                                MediaPlayer.Status oldStatus, MediaPlayer.Status newStatus) {
+                if (newStatus == MediaPlayer.Status.PLAYING) {
+                    LOGGER.info("Transition gap before {}: {} ms", song.getTitle(), (System.nanoTime() - endedAt) / 1_000_000.0);
+                    obs.removeListener(this);
+                } else if (newStatus == MediaPlayer.Status.HALTED || newStatus == MediaPlayer.Status.DISPOSED) {
+                    obs.removeListener(this);
+                }
+            }
+        });
+    }
+}
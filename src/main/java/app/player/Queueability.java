@@ -0,0 +1,164 @@
+package app.player;
+
+import app.util.IdSet;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a bitmask of which songs can be queued right now, indexed by song ID: the song's type
+ * is enabled, and either its album is a full-album unlock or both the song and its album are
+ * unlocked. It follows the state sets through their listeners, so an unlock only re-evaluates
+ * the songs it touches and queueing an album is a read of the album's slice of the mask.
+ * <p>
+ * Same rules as {@link Album#getQueueableSongs}, which stays for callers without a loaded library.
+ */
+public class Queueability {
+
+    private final IdSet enabledSets;
+    private final IdSet unlockedSongs;
+    private final IdSet unlockedAlbums;
+
+    // Library layout, rebuilt by setLibrary(). Songs of an album have contiguous IDs.
+    private Album[] albumsById = new Album[0];
+    private Song[] songsById = new Song[0];
+    private int[] albumOfSong = new int[0];
+    private final List<String> typeNames = new ArrayList<>();
+    private final List<BitSet> songsByType = new ArrayList<>();
+    private BitSet fullUnlockSongs = new BitSet();
+
+    private BitSet enabledTypeSongs = new BitSet();
+    private final BitSet playable = new BitSet();
+
+    public Queueability(IdSet enabledSets, IdSet unlockedSongs, IdSet unlockedAlbums) {
+        this.enabledSets = enabledSets;
+        this.unlockedSongs = unlockedSongs;
+        this.unlockedAlbums = unlockedAlbums;
+
+        enabledSets.addListener(new IdSet.Listener() {
+            @Override
+            public void idsChanged(int[] ids) {
+                recomputeAll();
+            }
+
+            @Override
+            public void reset() {
+                recomputeAll();
+            }
+        });
+        unlockedSongs.addListener(new IdSet.Listener() {
+            @Override
+            public void idsChanged(int[] ids) {
+                for (int id : ids) recomputeSong(id);
+            }
+
+            @Override
+            public void reset() {
+                recomputeAll();
+            }
+        });
+        unlockedAlbums.addListener(new IdSet.Listener() {
+            @Override
+            public void idsChanged(int[] ids) {
+                for (int id : ids) recomputeAlbum(id);
+            }
+
+            @Override
+            public void reset() {
+                recomputeAll();
+            }
+        });
+    }
+
+    /** Indexes a freshly loaded library; IDs must come from {@link AlbumConverter#assignIds}. */
+    public void setLibrary(List<Album> albums) {
+        int total = 0;
+        for (Album album : albums) total += album.getSongs().size();
+        int songCount = total;
+
+        albumsById = new Album[albums.size()];
+        songsById = new Song[songCount];
+        albumOfSong = new int[songCount];
+        typeNames.clear();
+        songsByType.clear();
+        fullUnlockSongs = new BitSet(songCount);
+
+        Map<String, Integer> typeIds = new HashMap<>();
+        for (Album album : albums) {
+            if (album.getId() >= 0 && album.getId() < albumsById.length) albumsById[album.getId()] = album;
+            for (Song song : album.getSongs()) {
+                int id = song.getId();
+                if (id < 0 || id >= songCount) continue;
+
+                songsById[id] = song;
+                albumOfSong[id] = album.getId();
+                int type = typeIds.computeIfAbsent(song.getType(), name -> {
+                    typeNames.add(name);
+                    songsByType.add(new BitSet(songCount));
+                    return typeNames.size() - 1;
+                });
+                songsByType.get(type).set(id);
+                if (album.isFullAlbumUnlock()) fullUnlockSongs.set(id);
+            }
+        }
+
+        recomputeAll();
+    }
+
+    public boolean isPlayable(Song song) {
+        return song != null && song.getId() >= 0 && playable.get(song.getId());
+    }
+
+    /** The album's queueable songs in track order, read straight from the mask. */
+    public List<Song> getQueueableSongs(Album album) {
+        List<Song> result = new ArrayList<>();
+        if (album.getSongs().isEmpty() || album.getSongs().get(0).getId() < 0) return result;
+
+        int from = album.getSongs().get(0).getId();
+        int to = from + album.getSongs().size();
+        for (int id = playable.nextSetBit(from); id >= 0 && id < to; id = playable.nextSetBit(id + 1)) {
+            result.add(songsById[id]);
+        }
+        return result;
+    }
+
+    // Whole-library pass using word-wide bitset operations
+    private void recomputeAll() {
+        enabledTypeSongs = new BitSet(songsById.length);
+        for (int type = 0; type < typeNames.size(); type++) {
+            if (enabledSets.contains(typeNames.get(type))) enabledTypeSongs.or(songsByType.get(type));
+        }
+
+        BitSet unlockedAlbumSongs = new BitSet(songsById.length);
+        for (Album album : albumsById) {
+            if (album == null || !unlockedAlbums.containsId(album.getId()) || album.getSongs().isEmpty()) continue;
+            int from = album.getSongs().get(0).getId();
+            if (from >= 0) unlockedAlbumSongs.set(from, from + album.getSongs().size());
+        }
+
+        BitSet unlocked = unlockedSongs.copyBits();
+        unlocked.and(unlockedAlbumSongs);
+        unlocked.or(fullUnlockSongs);
+        unlocked.and(enabledTypeSongs);
+
+        playable.clear();
+        playable.or(unlocked);
+    }
+
+    private void recomputeAlbum(int albumId) {
+        if (albumId < 0 || albumId >= albumsById.length || albumsById[albumId] == null) return;
+        for (Song song : albumsById[albumId].getSongs()) {
+            recomputeSong(song.getId());
+        }
+    }
+
+    private void recomputeSong(int id) {
+        if (id < 0 || id >= songsById.length) return;
+        boolean canQueue = enabledTypeSongs.get(id)
+                && (fullUnlockSongs.get(id) || (unlockedSongs.containsId(id) && unlockedAlbums.containsId(albumOfSong[id])));
+        playable.set(id, canQueue);
+    }
+}
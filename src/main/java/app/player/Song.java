@@ -1,17 +1,21 @@
 package app.player;
 
 import static app.MusicAppDemo.LOGGER;
+import static app.util.Normalization.normalizeSongTitle;
 
 public class Song {
 
     private final String title;
     private final String type;
+    private final String normalizedTitle; // matching key, computed once at load
 
     private String filePath;
+    private int id = -1; // dense library-wide ID, assigned by AlbumConverter.assignIds
 
     public Song(String title, String type) {
         this.title = title;
         this.type = type;
+        this.normalizedTitle = normalizeSongTitle(title);
     }
 
     public String getTitle() {
@@ -22,6 +26,18 @@ public class Song {
         return type;
     }
 
+    public String getNormalizedTitle() {
+        return normalizedTitle;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     public void setFilePath(String absolutePath) {
         LOGGER.info("Setting file path for {} -> {}", title, absolutePath);
         this.filePath = absolutePath;
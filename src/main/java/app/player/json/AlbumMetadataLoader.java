@@ -1,5 +1,6 @@
 package app.player.json;
 
+import app.util.GameFile;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
@@ -16,7 +17,7 @@ import static app.MusicAppDemo.LOGGER;
 public class AlbumMetadataLoader {
 
     public static Map<String, AlbumMetadata> loadAlbumMetadata(File configDir) {
-        File file = new File(configDir, "album_metadata.json");
+        File file = GameFile.ALBUM_METADATA.in(configDir);
         if (!file.exists()) {
             System.err.println("No album_metadata.json found in " + configDir.getAbsolutePath());
             return Collections.emptyMap();
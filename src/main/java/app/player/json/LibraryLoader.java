@@ -1,48 +1,127 @@
 package app.player.json;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import app.player.Album;
+import app.player.AlbumConverter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
-public class LibraryLoader {
-
-    public List<SongJSON> loadSongs(String resourcePath) throws Exception {
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(
-                        new TypeToken<List<String>>(){}.getType(),
-                        new RequiresDeserializer()
-                )
-                .create();
+import static app.MusicAppDemo.LOGGER;
 
-        Type listType = new TypeToken<List<SongJSON>>() {}.getType();
+public class LibraryLoader {
 
-        // Load JSON from resources
+    /** Streams a bundled locations.json straight into albums, see {@link #loadAlbumsFromReader}. */
+    public List<Album> loadAlbums(String resourcePath, AlbumConverter converter) throws IOException {
         InputStream is = getClass().getResourceAsStream(resourcePath);
         if (is == null) {
             throw new IllegalArgumentException("Resource not found: " + resourcePath);
         }
 
         try (InputStreamReader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
-            return gson.fromJson(reader, listType);
+            return loadAlbumsFromReader(reader, converter, null);
         }
     }
 
-    public List<SongJSON> loadSongsFromReader(Reader reader) {
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(
-                        new TypeToken<List<String>>(){}.getType(),
-                        new RequiresDeserializer()
-                )
-                .create();
+    /**
+     * Reads locations.json one location at a time and hands each one to the converter, so no
+     * intermediate list of locations is built. The requires field is skipped unless a map
+     * is passed to collect it into, keyed by location name.
+     */
+    public List<Album> loadAlbumsFromReader(Reader source, AlbumConverter converter,
+                                            Map<String, List<String>> requiresOut) throws IOException {
+        long start = System.nanoTime();
+        int locations = 0;
+
+        JsonReader reader = new JsonReader(source);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+
+            String name = null;
+            String region = null;
+            List<String> category = null;
+            List<String> requires = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "name" -> name = nextStringOrNull(reader);
+                    case "region" -> region = nextStringOrNull(reader);
+                    case "category" -> category = nextStringList(reader);
+                    case "requires" -> {
+                        if (requiresOut != null) {
+                            requires = nextStringList(reader);
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            // a song can't exist without a title; skip the entry rather than fail the whole load
+            if (name == null) {
+                LOGGER.warn("Skipping location without a name (region: {})", region);
+                continue;
+            }
+
+            converter.add(name, region, category);
+            if (requiresOut != null) {
+                requiresOut.put(name, requires != null ? requires : List.of());
+            }
+            locations++;
+        }
+        reader.endArray();
 
-        Type type = new TypeToken<List<SongJSON>>(){}.getType();
-        return gson.fromJson(reader, type);
+        List<Album> albums = converter.getAlbums();
+        LOGGER.info("Streamed {} locations into {} albums ({} songs, {} skipped) in {} ms",
+                locations, albums.size(), converter.getSongCount(), converter.getSkippedCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        return albums;
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return String.valueOf(reader.nextBoolean());
+        }
+        if (reader.peek() == JsonToken.BEGIN_ARRAY || reader.peek() == JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    // Lenient about shape: arrays of strings, a single string, or null
+    private static List<String> nextStringList(JsonReader reader) throws IOException {
+        List<String> list = new ArrayList<>();
+        switch (reader.peek()) {
+            case BEGIN_ARRAY -> {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    String value = nextStringOrNull(reader);
+                    if (value != null) list.add(value);
+                }
+                reader.endArray();
+            }
+            case STRING -> list.add(reader.nextString());
+            default -> reader.skipValue();
+        }
+        return list;
     }
-}
\ No newline at end of file
+}
@@ -1,12 +0,0 @@
-package app.player.json;
-
-import java.util.List;
-
-public class SongJSON {
-
-    public String name;
-    public String region;      // album name
-    public List<String> category;
-    @SuppressWarnings("unused")
-    public List<String> requires;
-}
@@ -0,0 +1,164 @@
+package app.player.ui;
+
+import app.player.Album;
+import app.player.Song;
+import app.util.IdSet;
+import javafx.event.Event;
+import javafx.scene.control.TreeItem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one {@link TreeItem} per album and song for the lifetime of a library and
+ * applies state changes as diffs, so expansion and scroll state survive refreshes
+ * and an unlock only repaints the node it affects. Nodes are keyed by song and album ID,
+ * so state diffs are plain bitset operations.
+ * <p>
+ * Album nodes hold their {@link Album} and song nodes their {@link Song}, so a selection
+ * resolves to the exact song even when another album has one with the same title. The root
+ * holds the "Albums" label.
+ */
+public class AlbumTreeModel {
+
+    private final TreeItem<Object> root = new TreeItem<>("Albums");
+
+    private final List<AlbumNode> albumNodes = new ArrayList<>();
+    private final Map<Integer, TreeItem<Object>> songItemsById = new HashMap<>();
+    private final Map<Integer, TreeItem<Object>> albumItemsById = new HashMap<>();
+
+    // State as of the last update(), used to work out what actually changed
+    private BitSet appliedEnabledAlbums = new BitSet();
+    private BitSet appliedEnabledSets = new BitSet();
+    private BitSet appliedUnlockedSongs = new BitSet();
+    private BitSet appliedUnlockedAlbums = new BitSet();
+    private boolean structureDirty = true;
+
+    public AlbumTreeModel() {
+        root.setExpanded(true);
+    }
+
+    public TreeItem<Object> getRoot() {
+        return root;
+    }
+
+    /**
+     * Replaces the album set, creating nodes once in the given display order.
+     * Nodes for albums that are still present are reused so their expansion state is kept.
+     */
+    public void setAlbums(List<Album> orderedAlbums) {
+        Map<Album, AlbumNode> existing = new HashMap<>();
+        for (AlbumNode node : albumNodes) {
+            existing.put(node.album, node);
+        }
+
+        albumNodes.clear();
+        songItemsById.clear();
+        albumItemsById.clear();
+
+        for (Album album : orderedAlbums) {
+            AlbumNode node = existing.get(album);
+            if (node == null || node.songItems.size() != album.getSongs().size()) {
+                node = new AlbumNode(album);
+            }
+            albumNodes.add(node);
+            albumItemsById.put(album.getId(), node.item);
+            for (int i = 0; i < album.getSongs().size(); i++) {
+                songItemsById.put(album.getSongs().get(i).getId(), node.songItems.get(i));
+            }
+        }
+
+        // IDs may now refer to different nodes, so every unlocked node is restyled on the next update
+        appliedUnlockedSongs = new BitSet();
+        appliedUnlockedAlbums = new BitSet();
+        structureDirty = true;
+    }
+
+    /**
+     * Applies the current enable/unlock state. Visibility is only recomputed when the
+     * enabled albums or song types changed, and only nodes whose unlock state flipped
+     * are restyled.
+     */
+    public void update(IdSet enabledAlbums, IdSet enabledSets, IdSet unlockedSongs, IdSet unlockedAlbums) {
+        BitSet currentEnabledAlbums = enabledAlbums.copyBits();
+        BitSet currentEnabledSets = enabledSets.copyBits();
+        if (structureDirty || !appliedEnabledAlbums.equals(currentEnabledAlbums) || !appliedEnabledSets.equals(currentEnabledSets)) {
+            syncVisibility(enabledAlbums, enabledSets);
+            appliedEnabledAlbums = currentEnabledAlbums;
+            appliedEnabledSets = currentEnabledSets;
+            structureDirty = false;
+        }
+
+        appliedUnlockedSongs = restyleChanged(unlockedSongs, appliedUnlockedSongs, songItemsById);
+        appliedUnlockedAlbums = restyleChanged(unlockedAlbums, appliedUnlockedAlbums, albumItemsById);
+    }
+
+    private void syncVisibility(IdSet enabledAlbums, IdSet enabledSets) {
+        List<TreeItem<Object>> visibleAlbums = new ArrayList<>();
+
+        for (AlbumNode node : albumNodes) {
+            // Skip albums not unlocked in slot data
+            if (!enabledAlbums.containsId(node.album.getId())) continue;
+
+            List<TreeItem<Object>> visibleSongs = new ArrayList<>();
+            List<Song> songs = node.album.getSongs();
+            for (int i = 0; i < songs.size(); i++) {
+                if (enabledSets.contains(songs.get(i).getType())) {
+                    visibleSongs.add(node.songItems.get(i));
+                }
+            }
+
+            if (!sameItems(node.item.getChildren(), visibleSongs)) {
+                node.item.getChildren().setAll(visibleSongs);
+            }
+            if (!visibleSongs.isEmpty()) visibleAlbums.add(node.item);
+        }
+
+        if (!sameItems(root.getChildren(), visibleAlbums)) {
+            root.getChildren().setAll(visibleAlbums);
+        }
+    }
+
+    // Repaints the nodes whose bit flipped and returns the new state to diff against next time
+    private static BitSet restyleChanged(IdSet current, BitSet applied, Map<Integer, TreeItem<Object>> itemsById) {
+        BitSet now = current.copyBits();
+        BitSet changed = (BitSet) now.clone();
+        changed.xor(applied);
+
+        for (int id = changed.nextSetBit(0); id >= 0; id = changed.nextSetBit(id + 1)) {
+            TreeItem<Object> item = itemsById.get(id);
+            if (item != null) repaint(item);
+        }
+        return now;
+    }
+
+    // Ask the TreeView to re-run updateItem for this node without replacing it
+    private static <T> void repaint(TreeItem<T> item) {
+        Event.fireEvent(item, new TreeItem.TreeModificationEvent<>(TreeItem.valueChangedEvent(), item, item.getValue()));
+    }
+
+    private static boolean sameItems(List<TreeItem<Object>> a, List<TreeItem<Object>> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) return false;
+        }
+        return true;
+    }
+
+    private static final class AlbumNode {
+        private final Album album;
+        private final TreeItem<Object> item;
+        private final List<TreeItem<Object>> songItems = new ArrayList<>();
+
+        private AlbumNode(Album album) {
+            this.album = album;
+            this.item = new TreeItem<>(album);
+            for (Song song : album.getSongs()) {
+                songItems.add(new TreeItem<>(song));
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package app.player.ui;
 
 import app.archipelago.APClient;
 import app.archipelago.SlotDataHelper;
+import app.util.ConfigPaths;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
@@ -46,7 +47,7 @@ public class ConnectionPanel extends VBox {
         gameField = new TextField();
         gameField.setPromptText("Game / Manual name");
 
-        String savedGameName = APClient.loadSavedGameNameStatic();
+        String savedGameName = ConfigPaths.getGameName();
 
         gameField.setText(savedGameName);
 
@@ -66,7 +67,7 @@ public class ConnectionPanel extends VBox {
         statusLabel = new Label("Not connected");
 
         // Ensure the per-game folder exists
-        gameFolder.set(APClient.getGameDataFolderStatic());
+        gameFolder.set(ConfigPaths.getConfigDir());
         checkIfGameFolderExists(gameFolder.get(), LOGGER);
 
         // load slot_data.json to help with parsing the slot data, we already know the game
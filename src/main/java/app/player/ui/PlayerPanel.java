@@ -1,6 +1,8 @@
 package app.player.ui;
 
+import app.player.PlayQueue;
 import app.player.Song;
+import app.util.ClientSettings;
 import javafx.beans.value.ChangeListener;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
@@ -10,6 +12,7 @@ import javafx.scene.control.ListView;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Button;
+import javafx.scene.control.Spinner;
 import javafx.scene.control.Tooltip;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.HBox;
@@ -38,6 +41,7 @@ public class PlayerPanel extends VBox {
     private final Button playButton;
     private final Button pauseButton;
     private final Button repeatButton;
+    private final Spinner<Integer> crossfadeSpinner;
     private final Button removeSelectedBtn;
     private final Button clearQueueBtn;
     private final Button shuffleQueueBtn;
@@ -119,7 +123,10 @@ public class PlayerPanel extends VBox {
         playButton = new Button("▶");
         pauseButton = new Button("⏸");
         repeatButton = new Button("No Repeat");
-        playerButtons.getChildren().addAll(playButton, pauseButton, repeatButton);
+        crossfadeSpinner = new Spinner<>(0, ClientSettings.MAX_CROSSFADE_SECONDS, 0);
+        crossfadeSpinner.setPrefWidth(70);
+        crossfadeSpinner.setTooltip(new Tooltip("Crossfade length in seconds (0 = off)"));
+        playerButtons.getChildren().addAll(playButton, pauseButton, repeatButton, new Label("Crossfade:"), crossfadeSpinner);
 
         // Queue control buttons
         queueButtons = new HBox(6);
@@ -141,6 +148,7 @@ public class PlayerPanel extends VBox {
     public Button getPlayButton() { return playButton; }
     public Button getPauseButton() { return pauseButton; }
     public Button getRepeatButton() { return repeatButton; }
+    public Spinner<Integer> getCrossfadeSpinner() { return crossfadeSpinner; }
     public Button getRemoveSelectedBtn() { return removeSelectedBtn; }
     public Button getClearQueueBtn() { return clearQueueBtn; }
     public Button getShuffleQueueBtn() { return shuffleQueueBtn; }
@@ -161,12 +169,9 @@ public class PlayerPanel extends VBox {
         currentSongLabel.setText(text);
     }
 
-    public void addToQueueDisplay(Song song) {
-        queueListView.getItems().add(song);
-    }
-
-    public void clearQueueDisplay() {
-        queueListView.getItems().clear();
+    /** Shows the queue directly, so each edit only touches the rows it changes. */
+    public void bindQueue(PlayQueue queue) {
+        queueListView.setItems(queue);
     }
 
     public void bindSeekCheckBox(ChangeListener<Boolean> seekListener) {
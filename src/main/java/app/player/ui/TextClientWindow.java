@@ -1,11 +1,19 @@
 package app.player.ui;
 
 import app.archipelago.APClient;
+import app.util.ClientSettings;
+import app.util.MessageLog;
+import javafx.collections.ListChangeListener;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TextField;
-import javafx.scene.control.TextArea;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
@@ -16,10 +24,41 @@ public class TextClientWindow {
 
     private final Supplier<APClient> clientSupplier;
 
-    private final TextArea outputArea = new TextArea();
+    // Bounded history shown through a virtualized list, so only visible lines get cells
+    private final MessageLog messageLog = new MessageLog(ClientSettings.DEFAULT_MESSAGE_LOG_LIMIT);
+    private final ListView<String> outputList = new ListView<>(messageLog);
 
     public TextClientWindow(Supplier<APClient> clientSupplier) {
         this.clientSupplier = clientSupplier;
+
+        outputList.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        outputList.setCellFactory(list -> new ListCell<>() {
+            {
+                setWrapText(true);
+                prefWidthProperty().bind(list.widthProperty().subtract(20));
+            }
+
+            @Override
+            protected void updateItem(String line, boolean empty) {
+                super.updateItem(line, empty);
+                setText(empty ? null : line);
+            }
+        });
+
+        // Ctrl+C copies the selected lines, as selecting text in the old text area allowed
+        outputList.setOnKeyPressed(event -> {
+            if (event.isShortcutDown() && event.getCode() == KeyCode.C) {
+                ClipboardContent content = new ClipboardContent();
+                content.putString(String.join("\n", outputList.getSelectionModel().getSelectedItems()));
+                Clipboard.getSystemClipboard().setContent(content);
+                event.consume();
+            }
+        });
+
+        // Follow new messages
+        messageLog.addListener((ListChangeListener<String>) change -> {
+            if (!messageLog.isEmpty()) outputList.scrollTo(messageLog.size() - 1);
+        });
     }
 
     public void show() {
@@ -32,8 +71,7 @@ public class TextClientWindow {
         // Make root VBox grow with the stage
         VBox.setVgrow(root, Priority.ALWAYS);
 
-        outputArea.setEditable(false); // for displaying messages
-        VBox.setVgrow(outputArea, Priority.ALWAYS); // <-- This makes it expand vertically
+        VBox.setVgrow(outputList, Priority.ALWAYS); // <-- This makes it expand vertically
 
         TextField inputField = new TextField();
         inputField.setPromptText("Type command here");
@@ -59,7 +97,7 @@ public class TextClientWindow {
         // Press Enter to send
         inputField.setOnAction(_ -> sendMessage.run());
 
-        root.getChildren().addAll(outputArea, inputField, sendBtn);
+        root.getChildren().addAll(outputList, inputField, sendBtn);
 
         Scene scene = new Scene(root, 400, 300);
         textStage.setScene(scene);
@@ -67,10 +105,10 @@ public class TextClientWindow {
     }
 
     public void appendOutput(String text) {
-        outputArea.appendText(text);
+        messageLog.append(text);
     }
 
-    public TextArea getOutputArea() {
-        return outputArea;
+    public MessageLog getMessageLog() {
+        return messageLog;
     }
 }
@@ -3,38 +3,149 @@ package app.util;
 import app.player.Album;
 import app.player.Song;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AlbumLibrary {
 
+    private static final int[] NO_IDS = new int[0];
+
     private final List<Album> albums;
 
+    // Lookup tables, rebuilt as a whole by rebuildIndex() and never mutated afterwards
+    private volatile Index index;
+
     public AlbumLibrary(List<Album> albums) {
         this.albums = albums;
+        rebuildIndex();
+    }
+
+    /**
+     * Rebuilds the lookup tables from the backing album list.
+     * Call this whenever albums or songs are added, removed or reloaded.
+     */
+    public void rebuildIndex() {
+        index = new Index(albums);
     }
 
     public Album getAlbumByName(String name) {
-        for (Album album : albums) {
-            if (album.getName().equals(name)) return album;
-        }
-        return null;
+        if (name == null) return null;
+        return index.albumsByName.get(name);
     }
 
     public Album getAlbumForSong(String songTitle) {
-        for (Album album : albums) {
-            for (Song song : album.getSongs()) {
-                if (song.getTitle().equals(songTitle)) return album;
-            }
-        }
-        return null;
+        if (songTitle == null) return null;
+        return index.albumsBySongTitle.get(songTitle);
+    }
+
+    /** The album holding this exact song, resolved by ID so songs that share a title stay apart. */
+    public Album getAlbumForSong(Song song) {
+        if (song == null) return null;
+        Album[] albumsBySongId = index.albumsBySongId;
+        int id = song.getId();
+        return id >= 0 && id < albumsBySongId.length ? albumsBySongId[id] : null;
     }
 
     public Song getSongByTitle(String songTitle) {
-        for (Album album : albums) {
-            for (Song song : album.getSongs()) {
-                if (song.getTitle().equals(songTitle)) return song;
+        if (songTitle == null) return null;
+        return index.songsByTitle.get(songTitle);
+    }
+
+    /** Resolves song titles to song IDs. A title shared by several songs maps to all of them. */
+    public IdSet.IdResolver getSongIds() {
+        Index current = index;
+        return new IdSet.IdResolver() {
+            @Override
+            public int[] idsOf(String title) {
+                return title != null ? current.songIdsByTitle.getOrDefault(title, NO_IDS) : NO_IDS;
             }
+
+            @Override
+            public String nameOf(int id) {
+                return id >= 0 && id < current.songsById.length && current.songsById[id] != null
+                        ? current.songsById[id].getTitle() : null;
+            }
+        };
+    }
+
+    /** Resolves album names to album IDs. */
+    public IdSet.IdResolver getAlbumIds() {
+        Index current = index;
+        return new IdSet.IdResolver() {
+            @Override
+            public int[] idsOf(String name) {
+                return name != null ? current.albumIdsByName.getOrDefault(name, NO_IDS) : NO_IDS;
+            }
+
+            @Override
+            public String nameOf(int id) {
+                return id >= 0 && id < current.albumsById.length && current.albumsById[id] != null
+                        ? current.albumsById[id].getName() : null;
+            }
+        };
+    }
+
+    private static final class Index {
+        private final Map<String, Album> albumsByName;
+        private final Map<String, Album> albumsBySongTitle;
+        private final Map<String, Song> songsByTitle;
+        private final Map<String, int[]> songIdsByTitle;
+        private final Map<String, int[]> albumIdsByName;
+        private final Song[] songsById;
+        private final Album[] albumsById;
+        private final Album[] albumsBySongId;
+
+        private Index(List<Album> albums) {
+            Map<String, Album> byName = new HashMap<>();
+            Map<String, Album> bySongTitle = new HashMap<>();
+            Map<String, Song> songs = new HashMap<>();
+            Map<String, int[]> songIds = new HashMap<>();
+            Map<String, int[]> albumIds = new HashMap<>();
+            List<Song> songList = new ArrayList<>();
+            List<Album> albumList = new ArrayList<>();
+            List<Album> songAlbumList = new ArrayList<>();
+
+            // putIfAbsent keeps the first match, same as the old linear scans
+            for (Album album : albums) {
+                byName.putIfAbsent(album.getName(), album);
+                if (album.getId() >= 0) {
+                    albumIds.merge(album.getName(), new int[] {album.getId()}, AlbumLibrary::concat);
+                    setAt(albumList, album.getId(), album);
+                }
+
+                for (Song song : album.getSongs()) {
+                    bySongTitle.putIfAbsent(song.getTitle(), album);
+                    songs.putIfAbsent(song.getTitle(), song);
+                    if (song.getId() >= 0) {
+                        songIds.merge(song.getTitle(), new int[] {song.getId()}, AlbumLibrary::concat);
+                        setAt(songList, song.getId(), song);
+                        setAt(songAlbumList, song.getId(), album);
+                    }
+                }
+            }
+
+            this.albumsByName = Map.copyOf(byName);
+            this.albumsBySongTitle = Map.copyOf(bySongTitle);
+            this.songsByTitle = Map.copyOf(songs);
+            this.songIdsByTitle = Map.copyOf(songIds);
+            this.albumIdsByName = Map.copyOf(albumIds);
+            this.songsById = songList.toArray(new Song[0]);
+            this.albumsById = albumList.toArray(new Album[0]);
+            this.albumsBySongId = songAlbumList.toArray(new Album[0]);
         }
-        return null;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static <T> void setAt(List<T> list, int index, T value) {
+        while (list.size() <= index) list.add(null);
+        list.set(index, value);
     }
 }
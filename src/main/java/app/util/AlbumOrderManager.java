@@ -1,23 +1,18 @@
 package app.util;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
-import static app.util.ConfigPaths.getConfigDir;
-
 public class AlbumOrderManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AlbumOrderManager.class);
@@ -32,8 +27,7 @@ public class AlbumOrderManager {
             return cache;
         }
 
-        File gameDir = getConfigDir();
-        File orderFile = new File(gameDir, "albumOrder.json");
+        File orderFile = GameFile.ALBUM_ORDER.file();
 
         List<String> loadedOrder = null;
         if (orderFile.exists()) {
@@ -55,11 +49,8 @@ public class AlbumOrderManager {
                     "Album 4"
             );
 
-            try (Writer writer = new FileWriter(orderFile, StandardCharsets.UTF_8)) {
-                new GsonBuilder().setPrettyPrinting().create().toJson(loadedOrder, writer);
+            if (ConfigWriter.saveNow(orderFile, loadedOrder)) {
                 LOGGER.info("Generated default albumOrder.json at {}", orderFile.getAbsolutePath());
-            } catch (IOException e) {
-                LOGGER.error("Failed to generate default albumOrder.json at {}", orderFile.getAbsolutePath(), e);
             }
         }
 
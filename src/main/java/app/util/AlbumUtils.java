@@ -1,15 +1,10 @@
 package app.util;
 
 import app.player.Album;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,19 +28,9 @@ public class AlbumUtils {
             defaultFolders.put(album.getName(), ""); // empty string as placeholder
         }
 
-        try {
-            //noinspection ResultOfMethodCallIgnored
-            configFile.createNewFile(); // make sure the file exists
-            Gson gson = new GsonBuilder()
-                    .setPrettyPrinting()
-                    .disableHtmlEscaping() // keeps ' as-is instead of converting to unicode escape
-                    .create();
-            try (Writer writer = new FileWriter(configFile, StandardCharsets.UTF_8)) {
-                gson.toJson(defaultFolders, writer);
-            }
+        // Written straight away, the library load reads it next
+        if (ConfigWriter.saveNow(configFile, defaultFolders)) {
             LOGGER.info("Generated default albumFolders.json at {}", configFile.getAbsolutePath());
-        } catch (Exception e) {
-            LOGGER.error("Failed to generate default albumFolders.json at {}", configFile.getAbsolutePath(), e);
         }
     }
 }
@@ -0,0 +1,204 @@
+package app.util;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritablePixelFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Album art for audio files, cached in two levels: a small LRU of decoded images in memory,
+ * keyed by path so the FX thread can look it up without touching the disk, and pre-scaled PNG
+ * thumbnails under the game folder's artwork/ directory, keyed by path, size and modification
+ * time so retagged files are picked up again. Files without artwork are remembered in both.
+ * The thumbnail folder is pruned to the {@link #DISK_ENTRIES} most recently used files.
+ */
+public class ArtworkCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtworkCache.class);
+    private static final int MEMORY_ENTRIES = 48; // ~130 KB each at 180x180
+    private static final int DISK_ENTRIES = 1000; // thumbnails plus no-art markers
+    private static final int PRUNE_INTERVAL = 64; // new disk entries between prunes
+
+    public static final double THUMBNAIL_SIZE = 180;
+
+    // Decoded image (empty when the file has none) and the disk key it was loaded under
+    private record Entry(Optional<Image> image, String diskKey) {}
+
+    private final Map<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MEMORY_ENTRIES;
+        }
+    };
+
+    // Starts at the interval so the first write of a session prunes leftovers from earlier ones
+    private final AtomicInteger storesSincePrune = new AtomicInteger(PRUNE_INTERVAL);
+
+    /** Returns the artwork if it is already decoded in memory. Never touches the disk. */
+    public Image getFromMemory(String filePath) {
+        if (filePath == null) return null;
+        synchronized (memory) {
+            Entry cached = memory.get(filePath);
+            return cached != null ? cached.image().orElse(null) : null;
+        }
+    }
+
+    /** Whether the file's artwork, or the fact that it has none, is already in memory. */
+    public boolean isInMemory(String filePath) {
+        if (filePath == null) return false;
+        synchronized (memory) {
+            return memory.containsKey(filePath);
+        }
+    }
+
+    /**
+     * Returns the artwork for the file, or null if it has none. Blocks on disk and tag reads,
+     * so call it off the FX thread.
+     */
+    public Image get(String filePath) {
+        if (filePath == null) return null;
+        File audioFile = new File(filePath);
+        String key = key(audioFile);
+
+        synchronized (memory) {
+            Entry cached = memory.get(filePath);
+            if (cached != null && cached.diskKey().equals(key)) return cached.image().orElse(null);
+        }
+
+        Image image = loadThumbnail(key);
+        if (image == null && !isKnownMissing(key)) {
+            image = extract(audioFile);
+            storeThumbnail(key, image);
+        }
+
+        synchronized (memory) {
+            memory.put(filePath, new Entry(Optional.ofNullable(image), key));
+        }
+        return image;
+    }
+
+    private static Image extract(File audioFile) {
+        byte[] data = ArtworkExtractor.extract(audioFile);
+        if (data == null) return null;
+
+        Image image = new Image(new ByteArrayInputStream(data), THUMBNAIL_SIZE, THUMBNAIL_SIZE, true, true);
+        return image.isError() ? null : image;
+    }
+
+    private static Image loadThumbnail(String key) {
+        File thumbnail = new File(getDirectory(), key + ".png");
+        if (!thumbnail.exists()) return null;
+
+        try (InputStream in = new FileInputStream(thumbnail)) {
+            Image image = new Image(in);
+            if (image.isError()) return null;
+            touch(thumbnail);
+            return image;
+        } catch (IOException e) {
+            LOGGER.debug("Could not read cached artwork {}: {}", thumbnail.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isKnownMissing(String key) {
+        File marker = new File(getDirectory(), key + ".none");
+        if (!marker.exists()) return false;
+        touch(marker);
+        return true;
+    }
+
+    // The modification time doubles as the last-used time when pruning
+    private static void touch(File file) {
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            LOGGER.debug("Could not update the last-used time of {}", file.getName());
+        }
+    }
+
+    private void storeThumbnail(String key, Image image) {
+        File directory = getDirectory();
+        if (!directory.exists() && !directory.mkdirs()) {
+            LOGGER.warn("Could not create artwork cache folder {}", directory.getAbsolutePath());
+            return;
+        }
+
+        try {
+            if (image == null) {
+                Files.write(new File(directory, key + ".none").toPath(), new byte[0]);
+            } else {
+                // Written to a temp file first so a half-written thumbnail is never read back
+                File temp = new File(directory, key + ".png.tmp");
+                ImageIO.write(toBufferedImage(image), "png", temp);
+                Files.move(temp.toPath(), new File(directory, key + ".png").toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store cached artwork in {}", directory.getAbsolutePath(), e);
+            return;
+        }
+
+        if (storesSincePrune.incrementAndGet() >= PRUNE_INTERVAL) {
+            storesSincePrune.set(0);
+            prune(directory, DISK_ENTRIES);
+        }
+    }
+
+    /** Deletes the least recently used files in the folder until at most {@code maxEntries} remain. */
+    static void prune(File directory, int maxEntries) {
+        File[] files = directory.listFiles(File::isFile);
+        if (files == null || files.length <= maxEntries) return;
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        int deleted = 0;
+        for (int i = 0; i < files.length - maxEntries; i++) {
+            if (files[i].delete()) deleted++;
+        }
+        LOGGER.info("Pruned {} cached artwork files from {}", deleted, directory.getAbsolutePath());
+    }
+
+    private static BufferedImage toBufferedImage(Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] pixels = new int[width * height];
+
+        PixelReader reader = image.getPixelReader();
+        reader.getPixels(0, 0, width, height, WritablePixelFormat.getIntArgbInstance(), pixels, 0, width);
+
+        BufferedImage buffered = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        buffered.setRGB(0, 0, width, height, pixels, 0, width);
+        return buffered;
+    }
+
+    private static File getDirectory() {
+        return GameFile.ARTWORK.file();
+    }
+
+    private static String key(File audioFile) {
+        String identity = audioFile.getAbsolutePath() + "|" + audioFile.length() + "|" + audioFile.lastModified();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(identity.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
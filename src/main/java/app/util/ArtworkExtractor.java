@@ -0,0 +1,226 @@
+package app.util;
+
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.images.Artwork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Pulls the embedded picture out of an audio file without parsing the whole tag. For MP3
+ * (ID3v2 APIC/PIC frames) and M4A (the ilst covr atom) it walks frame and atom headers with
+ * positional reads and only loads the picture frame itself. Anything it can't handle, such as
+ * other formats, unsynchronised or compressed tags, goes through jaudiotagger as before.
+ */
+public class ArtworkExtractor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtworkExtractor.class);
+
+    private ArtworkExtractor() {} // utility class
+
+    /** Returns the first embedded picture's bytes, or null if the file has none. */
+    public static byte[] extract(File audioFile) {
+        String name = audioFile.getName().toLowerCase(Locale.ROOT);
+        try (FileChannel channel = FileChannel.open(audioFile.toPath(), StandardOpenOption.READ)) {
+            if (name.endsWith(".mp3")) {
+                return readId3Picture(channel);
+            }
+            if (name.endsWith(".m4a") || name.endsWith(".mp4")) {
+                return readMp4Cover(channel);
+            }
+        } catch (UnsupportedLayoutException e) {
+            LOGGER.debug("Falling back to jaudiotagger for {}: {}", audioFile.getName(), e.getMessage());
+        } catch (IOException e) {
+            LOGGER.debug("Could not read artwork from {}: {}", audioFile.getName(), e.getMessage());
+            return null;
+        }
+        return extractWithJaudiotagger(audioFile);
+    }
+
+    static byte[] extractWithJaudiotagger(File audioFile) {
+        try {
+            AudioFile file = AudioFileIO.read(audioFile);
+            Tag tag = file.getTag();
+            if (tag == null) return null;
+
+            Artwork artwork = tag.getFirstArtwork();
+            return artwork != null ? artwork.getBinaryData() : null;
+        } catch (Exception e) {
+            LOGGER.debug("Could not extract album art for {}: {}", audioFile.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    // --- ID3v2 ---
+
+    private static byte[] readId3Picture(FileChannel channel) throws IOException {
+        ByteBuffer header = read(channel, 0, 10);
+        if (header == null || header.get(0) != 'I' || header.get(1) != 'D' || header.get(2) != '3') {
+            throw new UnsupportedLayoutException("no ID3v2 tag at the start of the file");
+        }
+
+        int version = header.get(3);
+        int flags = header.get(5) & 0xFF;
+        long tagEnd = 10 + syncsafe(header, 6);
+        if (version < 2 || version > 4) throw new UnsupportedLayoutException("ID3v2." + version);
+        if ((flags & 0x80) != 0) throw new UnsupportedLayoutException("unsynchronised tag");
+
+        long position = 10;
+        if ((flags & 0x40) != 0 && version >= 3) {
+            ByteBuffer extended = read(channel, position, 4);
+            if (extended == null) return null;
+            position += version == 4 ? syncsafe(extended, 0) : 4 + Integer.toUnsignedLong(extended.getInt(0));
+        }
+
+        int headerSize = version == 2 ? 6 : 10;
+        while (position + headerSize <= tagEnd) {
+            ByteBuffer frame = read(channel, position, headerSize);
+            if (frame == null || frame.get(0) == 0) return null; // reached padding
+
+            String id = version == 2 ? ascii(frame, 0, 3) : ascii(frame, 0, 4);
+            long size = switch (version) {
+                case 2 -> ((frame.get(3) & 0xFF) << 16) | ((frame.get(4) & 0xFF) << 8) | (frame.get(5) & 0xFF);
+                case 3 -> Integer.toUnsignedLong(frame.getInt(4));
+                default -> syncsafe(frame, 4);
+            };
+            long bodyStart = position + headerSize;
+            if (size <= 0 || bodyStart + size > tagEnd) return null;
+
+            if (id.equals("APIC") || id.equals("PIC")) {
+                if (version >= 3 && hasEncodedBody(version, frame.get(9) & 0xFF)) {
+                    throw new UnsupportedLayoutException("compressed or encrypted picture frame");
+                }
+                ByteBuffer body = read(channel, bodyStart, (int) size);
+                return body != null ? pictureData(body, version == 2) : null;
+            }
+            position = bodyStart + size;
+        }
+        return null;
+    }
+
+    private static boolean hasEncodedBody(int version, int formatFlags) {
+        // v2.3: compression, encryption, grouping. v2.4: compression, encryption, unsync, data length
+        return version == 3 ? (formatFlags & 0xE0) != 0 : (formatFlags & 0x0F) != 0;
+    }
+
+    private static byte[] pictureData(ByteBuffer body, boolean legacyFrame) {
+        int encoding = body.get(0);
+        int offset = 1;
+
+        if (legacyFrame) {
+            offset += 3; // fixed three-letter image format
+        } else {
+            while (offset < body.limit() && body.get(offset) != 0) offset++;
+            offset++; // MIME type terminator
+        }
+        offset++; // picture type
+
+        // Description, terminated by one zero byte, or two for the UTF-16 encodings
+        boolean wide = encoding == 1 || encoding == 2;
+        if (wide) {
+            while (offset + 1 < body.limit() && (body.get(offset) != 0 || body.get(offset + 1) != 0)) offset += 2;
+            offset += 2;
+        } else {
+            while (offset < body.limit() && body.get(offset) != 0) offset++;
+            offset++;
+        }
+
+        if (offset >= body.limit()) return null;
+        byte[] data = new byte[body.limit() - offset];
+        body.get(offset, data);
+        return data;
+    }
+
+    private static long syncsafe(ByteBuffer buffer, int index) {
+        return ((buffer.get(index) & 0x7FL) << 21) | ((buffer.get(index + 1) & 0x7FL) << 14)
+                | ((buffer.get(index + 2) & 0x7FL) << 7) | (buffer.get(index + 3) & 0x7FL);
+    }
+
+    // --- MP4 ---
+
+    private static byte[] readMp4Cover(FileChannel channel) throws IOException {
+        long[] moov = findAtom(channel, 0, channel.size(), "moov");
+        long[] udta = moov != null ? findAtom(channel, moov[0], moov[1], "udta") : null;
+        long[] meta = udta != null ? findAtom(channel, udta[0], udta[1], "meta") : null;
+        if (meta == null) return null;
+
+        // meta is normally a full box with four bytes of version and flags, but not always
+        long metaStart = meta[0];
+        ByteBuffer peek = read(channel, metaStart, 8);
+        if (peek != null && !ascii(peek, 4, 4).equals("hdlr")) metaStart += 4;
+
+        long[] ilst = findAtom(channel, metaStart, meta[1], "ilst");
+        long[] covr = ilst != null ? findAtom(channel, ilst[0], ilst[1], "covr") : null;
+        long[] data = covr != null ? findAtom(channel, covr[0], covr[1], "data") : null;
+        if (data == null) return null;
+
+        long imageStart = data[0] + 8; // data type and locale
+        long imageSize = data[1] - imageStart;
+        if (imageSize <= 0 || imageSize > Integer.MAX_VALUE) return null;
+
+        ByteBuffer image = read(channel, imageStart, (int) imageSize);
+        if (image == null) return null;
+        byte[] bytes = new byte[image.limit()];
+        image.get(0, bytes);
+        return bytes;
+    }
+
+    /** Returns {payloadStart, end} of the first child atom of the given type within [start, end). */
+    private static long[] findAtom(FileChannel channel, long start, long end, String type) throws IOException {
+        long position = start;
+        while (position + 8 <= end) {
+            ByteBuffer header = read(channel, position, 8);
+            if (header == null) return null;
+
+            long size = Integer.toUnsignedLong(header.getInt(0));
+            long headerSize = 8;
+            if (size == 1) {
+                ByteBuffer large = read(channel, position + 8, 8);
+                if (large == null) return null;
+                size = large.getLong(0);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = end - position; // extends to the end of its parent
+            }
+            if (size < headerSize || position + size > end) return null;
+
+            if (ascii(header, 4, 4).equals(type)) {
+                return new long[] {position + headerSize, position + size};
+            }
+            position += size;
+        }
+        return null;
+    }
+
+    // --- helpers ---
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        if (length < 0 || position + length > channel.size()) return null;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) return null;
+        }
+        return buffer.flip();
+    }
+
+    private static String ascii(ByteBuffer buffer, int index, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(index, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static final class UnsupportedLayoutException extends IOException {
+        private UnsupportedLayoutException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package app.util;
+
+import javafx.scene.image.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Warms the artwork cache for the next few songs in the queue on a single low-priority
+ * thread. Each call replaces the previous set of upcoming files: prefetches that are no
+ * longer wanted and haven't started yet are cancelled. The decoded images land in the
+ * cache, or can be handed over directly with {@link #take(String)}.
+ */
+public class ArtworkPrefetcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtworkPrefetcher.class);
+
+    public static final int DEFAULT_DEPTH = 3;
+
+    private final ArtworkCache cache;
+    private final int depth;
+    private final Map<String, Future<Image>> pending = new HashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "artwork-prefetch");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    public ArtworkPrefetcher(ArtworkCache cache, int depth) {
+        this.cache = cache;
+        this.depth = depth;
+    }
+
+    /** Prefetches artwork for the first {@code depth} of the given upcoming file paths. */
+    public synchronized void prefetch(List<String> upcomingFilePaths) {
+        Set<String> wanted = new LinkedHashSet<>(); // submitted in queue order
+        for (String filePath : upcomingFilePaths) {
+            if (wanted.size() >= depth) break;
+            if (filePath != null) wanted.add(filePath);
+        }
+
+        Iterator<Map.Entry<String, Future<Image>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Future<Image>> entry = it.next();
+            if (entry.getValue().isDone()) {
+                it.remove();
+            } else if (!wanted.contains(entry.getKey()) && entry.getValue().cancel(false)) {
+                // Running extractions are left to finish; the song may be the one about to play
+                it.remove();
+            }
+        }
+
+        for (String filePath : wanted) {
+            if (pending.containsKey(filePath) || cache.isInMemory(filePath)) continue;
+            pending.put(filePath, executor.submit(() -> cache.get(filePath)));
+        }
+
+        if (!pending.isEmpty()) {
+            LOGGER.debug("Prefetching artwork for {} upcoming songs", pending.size());
+        }
+    }
+
+    /**
+     * Hands over the prefetch for the file if one is queued or running, so the caller can wait
+     * on it instead of extracting the same artwork twice. Returns null if there is none.
+     */
+    public synchronized Future<Image> take(String filePath) {
+        return filePath != null ? pending.remove(filePath) : null;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
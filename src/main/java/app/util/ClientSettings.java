@@ -0,0 +1,61 @@
+package app.util;
+
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Per-game player preferences, stored as settings.json next to the other per-game config files.
+ */
+public class ClientSettings {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientSettings.class);
+
+    public static final int MAX_CROSSFADE_SECONDS = 12;
+    public static final int DEFAULT_MESSAGE_LOG_LIMIT = 2000;
+    public static final int MIN_MESSAGE_LOG_LIMIT = 100;
+    public static final int MAX_MESSAGE_LOG_LIMIT = 50_000;
+
+    private int crossfadeSeconds = 0; // 0 = hard cut between tracks
+    private int messageLogLimit = DEFAULT_MESSAGE_LOG_LIMIT; // lines kept in the text client
+
+    public static ClientSettings load() {
+        File file = GameFile.SETTINGS.file();
+        if (!file.exists()) return new ClientSettings();
+
+        try (Reader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+            ClientSettings settings = new Gson().fromJson(reader, ClientSettings.class);
+            return settings != null ? settings : new ClientSettings();
+        } catch (Exception e) {
+            LOGGER.error("Failed to load settings from {}", file.getAbsolutePath(), e);
+            return new ClientSettings();
+        }
+    }
+
+    public void save() {
+        File file = GameFile.SETTINGS.file();
+        ConfigWriter.save(file, this);
+        LOGGER.info("Saving settings to {}", file.getAbsolutePath());
+    }
+
+    public int getCrossfadeSeconds() {
+        return Math.max(0, Math.min(MAX_CROSSFADE_SECONDS, crossfadeSeconds));
+    }
+
+    public void setCrossfadeSeconds(int crossfadeSeconds) {
+        this.crossfadeSeconds = Math.max(0, Math.min(MAX_CROSSFADE_SECONDS, crossfadeSeconds));
+    }
+
+    public int getMessageLogLimit() {
+        return Math.max(MIN_MESSAGE_LOG_LIMIT, Math.min(MAX_MESSAGE_LOG_LIMIT, messageLogLimit));
+    }
+
+    public void setMessageLogLimit(int messageLogLimit) {
+        this.messageLogLimit = Math.max(MIN_MESSAGE_LOG_LIMIT, Math.min(MAX_MESSAGE_LOG_LIMIT, messageLogLimit));
+    }
+}
@@ -1,16 +1,13 @@
 package app.util;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
@@ -33,12 +30,8 @@ public class ConfigManager {
         data.put("password", password);
 
         File file = getConnectionConfigFile();
-        try (Writer writer = new FileWriter(file, StandardCharsets.UTF_8)) {
-            new GsonBuilder().setPrettyPrinting().create().toJson(data, writer);
-            LOGGER.info("Saved connection settings to {}", file.getAbsolutePath());
-        } catch (IOException e) {
-            LOGGER.error("Failed to save connection settings to {}", file.getAbsolutePath(), e);
-        }
+        ConfigWriter.save(file, data);
+        LOGGER.info("Saving connection settings to {}", file.getAbsolutePath());
     }
 
     public static Map<String, String> loadConnectionSettings() {
@@ -1,26 +1,81 @@
 package app.util;
 
-import app.archipelago.APClient;
+import com.google.gson.Gson;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 
+/**
+ * Resolves where the client keeps its files. The base folder is worked out once per run, and the
+ * active game (from currentGame.json) and its folder are cached until {@link #setGameName} switches
+ * games, so lookups don't touch the disk.
+ */
 public class ConfigPaths {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigPaths.class);
+    private static final String CURRENT_GAME_FILE = "currentGame.json";
+
+    public static final String DEFAULT_GAME_NAME = "Manual_TaylorSwiftDiscography_bennydreamly";
+
+    private static File baseDir;
+    private static String gameName;
+    private static File configDir;
+
     private ConfigPaths() {} // utility class
 
-    public static File getConfigDir() {
-        File gameDir = APClient.getGameDataFolderStatic();
-        if (!gameDir.exists()) {
-            //noinspection ResultOfMethodCallIgnored
-            gameDir.mkdirs();
+    /** The application folder that holds currentGame.json and one folder per game. */
+    public static synchronized File getBaseDir() {
+        if (baseDir == null) {
+            String userHome = System.getProperty("user.home");
+            String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+            if (os.contains("win")) {
+                baseDir = new File(userHome, "AppData\\Roaming\\MusicAppDemo");
+            } else if (os.contains("mac")) {
+                baseDir = new File(userHome, "Library/Application Support/MusicAppDemo");
+            } else {
+                baseDir = new File(userHome, ".config/MusicAppDemo");
+            }
+            ensureExists(baseDir);
         }
-        return gameDir;
+        return baseDir;
+    }
+
+    public static synchronized String getGameName() {
+        if (gameName == null) {
+            gameName = loadGameName();
+        }
+        return gameName;
+    }
+
+    /** Makes the given game the active one, saving it to currentGame.json for the next start. */
+    public static synchronized void setGameName(String name) {
+        if (name.equals(gameName)) return;
+
+        ConfigWriter.save(new File(getBaseDir(), CURRENT_GAME_FILE), name);
+        gameName = name;
+        configDir = null;
+    }
+
+    /** The active game's folder, created on first use. */
+    public static synchronized File getConfigDir() {
+        if (configDir == null) {
+            configDir = getGameDir(getGameName());
+            ensureExists(configDir);
+        }
+        return configDir;
+    }
+
+    public static File getGameDir(String name) {
+        return new File(getBaseDir(), name);
     }
 
     public static File getConnectionConfigFile() {
-        File configDir = getConfigDir();
-        return new File(configDir, "connection.json");
+        return GameFile.CONNECTION.file();
     }
 
     public static void checkIfGameFolderExists(File gameFolder, Logger logger){
@@ -32,11 +87,25 @@ public class ConfigPaths {
     }
 
     public static File getAlbumConfigFile() {
-        File gameDir = getConfigDir();
-        if (!gameDir.exists()) {
-            //noinspection ResultOfMethodCallIgnored
-            gameDir.mkdirs();
+        return GameFile.ALBUM_FOLDERS.file();
+    }
+
+    private static String loadGameName() {
+        File file = new File(getBaseDir(), CURRENT_GAME_FILE);
+        if (file.exists()) {
+            try (Reader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+                String name = new Gson().fromJson(reader, String.class);
+                if (name != null && !name.isBlank()) return name;
+            } catch (Exception e) {
+                LOGGER.error("Failed to load saved game name from {}", file.getAbsolutePath(), e);
+            }
+        }
+        return DEFAULT_GAME_NAME;
+    }
+
+    private static void ensureExists(File dir) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            LOGGER.warn("Could not create folder {}", dir.getAbsolutePath());
         }
-        return new File(gameDir, "albumFolders.json");
     }
 }
@@ -0,0 +1,112 @@
+package app.util;
+
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the active game folder for edits to albumFolders.json, albumOrder.json and
+ * album_metadata.json. Events are collected until the folder has been quiet for
+ * {@link #DEBOUNCE_MILLIS}, so an editor's burst of writes and renames arrives as one
+ * callback on the FX thread listing every file that changed.
+ */
+public class ConfigWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigWatcher.class);
+    private static final long DEBOUNCE_MILLIS = 400;
+    private static final Set<GameFile> WATCHED = EnumSet.of(GameFile.ALBUM_FOLDERS, GameFile.ALBUM_ORDER, GameFile.ALBUM_METADATA);
+
+    private final Consumer<Set<GameFile>> onChange;
+    private WatchService watchService;
+    private WatchKey key;
+    private Thread thread;
+
+    public ConfigWatcher(Consumer<Set<GameFile>> onChange) {
+        this.onChange = onChange;
+    }
+
+    /** Starts watching the given folder, replacing whatever folder was watched before. */
+    public synchronized void watch(File gameDir) {
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+                thread = new Thread(this::run, "config-watcher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            if (key != null) key.cancel();
+            key = gameDir.toPath().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            LOGGER.info("Watching {} for config changes", gameDir.getAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.warn("Could not watch {}, config edits will apply on the next reload", gameDir.getAbsolutePath(), e);
+        }
+    }
+
+    public synchronized void close() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.debug("Error closing config watcher", e);
+        }
+        watchService = null;
+        key = null;
+    }
+
+    private void run() {
+        WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+        try {
+            Set<GameFile> changed = EnumSet.noneOf(GameFile.class);
+            while (true) {
+                // Block until something happens, then keep collecting until it goes quiet
+                WatchKey next = changed.isEmpty() ? service.take() : service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    Set<GameFile> batch = changed;
+                    changed = EnumSet.noneOf(GameFile.class);
+                    Platform.runLater(() -> onChange.accept(batch));
+                    continue;
+                }
+
+                boolean current;
+                synchronized (this) {
+                    current = next == key;
+                }
+                for (WatchEvent<?> event : next.pollEvents()) {
+                    if (current && event.context() instanceof Path path) {
+                        GameFile file = watchedFile(path.getFileName().toString());
+                        if (file != null) changed.add(file);
+                    }
+                }
+                next.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed on shutdown
+        }
+    }
+
+    // Temp files and anything else in the folder are ignored
+    private static GameFile watchedFile(String name) {
+        for (GameFile file : WATCHED) {
+            if (file.getFileName().equals(name)) return file;
+        }
+        return null;
+    }
+}
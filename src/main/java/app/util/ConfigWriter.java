@@ -0,0 +1,112 @@
+package app.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes config files without truncating them in place: content goes to a temp file next to the
+ * target, which is then atomically moved over it, so a crash mid-write leaves the old file intact.
+ * <p>
+ * {@link #save} serializes on the caller's thread (so later edits to the object can't leak into
+ * the file) and hands the write to a background thread. Saves of the same file within
+ * {@link #COALESCE_MILLIS} collapse into one write of the newest content.
+ */
+public class ConfigWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigWriter.class);
+    private static final long COALESCE_MILLIS = 250;
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    // Newest unwritten content per file; a file only has a write scheduled while it is in here
+    private static final Map<Path, String> pending = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ConfigWriter() {} // utility class
+
+    /** Pretty-prints the value as JSON and saves it in the background. */
+    public static void save(File file, Object value) {
+        saveText(file, GSON.toJson(value));
+    }
+
+    /** Saves the text as-is in the background; for files that aren't JSON. */
+    public static void saveText(File file, String content) {
+        Path path = file.toPath().toAbsolutePath();
+        if (pending.put(path, content) == null) {
+            writer.schedule(() -> writePending(path), COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Pretty-prints the value as JSON and saves it before returning, for files read right after. */
+    public static boolean saveNow(File file, Object value) {
+        return saveNowText(file, GSON.toJson(value));
+    }
+
+    /** Saves the text as-is before returning. */
+    public static synchronized boolean saveNowText(File file, String content) {
+        Path path = file.toPath().toAbsolutePath();
+        pending.remove(path); // this write supersedes anything still queued
+        try {
+            writeAtomically(path, content);
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Failed to write {}", path, e);
+            return false;
+        }
+    }
+
+    /** Writes everything still queued on the calling thread; used on shutdown. */
+    public static void flush() {
+        for (Path path : pending.keySet()) {
+            writePending(path);
+        }
+    }
+
+    /** Writes the file on the calling thread if a save for it is still queued. */
+    public static void flush(File file) {
+        writePending(file.toPath().toAbsolutePath());
+    }
+
+    // Taking the content and writing it happen under one lock, so an older write can never land
+    // on top of a newer saveNow() or flush()
+    private static synchronized void writePending(Path path) {
+        String content = pending.remove(path);
+        if (content == null) return; // already written by flush() or superseded by saveNow()
+        try {
+            writeAtomically(path, content);
+            LOGGER.debug("Wrote {}", path);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write {}", path, e);
+        }
+    }
+
+    private static void writeAtomically(Path path, String content) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package app.util;
+
+import app.player.Album;
+import app.player.Song;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which song each audio file was matched to, keyed by file path and
+ * validated by size and modification time, so unchanged files skip fuzzy matching.
+ * Stored per game as fileMatches.json.
+ */
+public class FileMatchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileMatchIndex.class);
+
+    private final File file;
+    private final Map<String, Entry> entries;
+    private volatile boolean dirty = false;
+
+    private FileMatchIndex(File file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    public static FileMatchIndex load(File gameDir) {
+        File file = GameFile.FILE_MATCHES.in(gameDir);
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        ConfigWriter.flush(file); // an earlier scan's save may still be queued
+
+        if (file.exists()) {
+            try (Reader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+                Type type = new TypeToken<Map<String, Entry>>() {}.getType();
+                Map<String, Entry> loaded = new Gson().fromJson(reader, type);
+                if (loaded != null) entries.putAll(loaded);
+                LOGGER.info("Loaded {} cached file matches from {}", entries.size(), file.getAbsolutePath());
+            } catch (Exception e) {
+                LOGGER.error("Failed to load file match index from {}, rebuilding it", file.getAbsolutePath(), e);
+            }
+        }
+
+        return new FileMatchIndex(file, entries);
+    }
+
+    /**
+     * Returns the cached match for the file if it is still valid for the scope (an album name,
+     * or {@link FileMatcher#LIBRARY_WIDE_KEY} for loose folders), or null when the file has to
+     * be matched again. A valid entry may hold a null song title, meaning the file is known not
+     * to match any song in that scope.
+     */
+    public Entry lookup(File audioFile, String scope, String signature) {
+        Entry entry = entries.get(audioFile.getAbsolutePath());
+        if (entry == null) return null;
+        if (entry.size != audioFile.length() || entry.modified != audioFile.lastModified()) return null;
+        if (!scope.equals(entry.album) || !signature.equals(entry.albumSignature)) return null;
+        return entry;
+    }
+
+    /**
+     * File path to song title for every file still validly matched to a song in the scope,
+     * so a folder's previous results can be reused without listing it again.
+     */
+    public Map<String, String> matchedFiles(String scope, String signature) {
+        Map<String, String> matches = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().song == null || !scope.equals(entry.getValue().album)) continue;
+            if (lookup(new File(entry.getKey()), scope, signature) != null) {
+                matches.put(entry.getKey(), entry.getValue().song);
+            }
+        }
+        return matches;
+    }
+
+    public void record(File audioFile, String scope, String signature, Song song) {
+        Entry entry = new Entry();
+        entry.size = audioFile.length();
+        entry.modified = audioFile.lastModified();
+        entry.album = scope;
+        entry.albumSignature = signature;
+        entry.song = song != null ? song.getTitle() : null;
+        entries.put(audioFile.getAbsolutePath(), entry);
+        dirty = true;
+    }
+
+    /** Drops entries for files that disappeared from a folder that was scanned in this pass. */
+    public void prune(Set<String> scannedFolders, Set<String> seenFiles) {
+        boolean removed = entries.keySet().removeIf(path ->
+                !seenFiles.contains(path) && scannedFolders.contains(new File(path).getParent()));
+        if (removed) dirty = true;
+    }
+
+    /** Changes whenever the album's song list changes, invalidating its cached matches. */
+    public static String albumSignature(Album album) {
+        return signature(album.getSongs());
+    }
+
+    /**
+     * Same as {@link #albumSignature(Album)}, for an arbitrary list of candidate songs. Ignores
+     * their order, so re-sorting the albums doesn't invalidate the library-wide matches.
+     */
+    public static String signature(List<Song> songs) {
+        int hash = 0;
+        for (Song song : songs) {
+            hash += song.getTitle().hashCode();
+        }
+        return Integer.toHexString(hash) + ":" + songs.size();
+    }
+
+    public void saveIfDirty() {
+        if (!dirty) return;
+
+        ConfigWriter.save(file, entries);
+        dirty = false;
+        LOGGER.info("Saving {} file matches to {}", entries.size(), file.getAbsolutePath());
+    }
+
+    public static class Entry {
+        long size;
+        long modified;
+        String album; // album name, or "*" for loose folders
+        String albumSignature;
+        String song; // null = known not to match
+
+        public String getSong() {
+            return song;
+        }
+    }
+}
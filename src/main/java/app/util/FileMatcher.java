@@ -0,0 +1,228 @@
+package app.util;
+
+import app.player.Album;
+import app.player.Song;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static app.util.Normalization.levenshteinDistance;
+import static app.util.Normalization.normalizeFilename;
+
+/**
+ * Scans album folders and matches audio files to songs, one task per folder on a
+ * small bounded pool. Nothing is written to the songs here; callers get the
+ * resulting assignments back and publish them in one go.
+ * <p>
+ * A loose folder, configured under {@link #LIBRARY_WIDE_KEY} in albumFolders.json, is
+ * matched against every song in the library instead of a single album. Album folders
+ * take precedence when both provide a file for the same song.
+ */
+public class FileMatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileMatcher.class);
+    private static final int MAX_THREADS = 4;
+    private static final int MAX_FUZZY_DISTANCE = 4; // tweak threshold if needed
+
+    /** albumFolders.json key whose folder is matched against the whole library. */
+    public static final String LIBRARY_WIDE_KEY = "*";
+
+    private final FileMatchIndex matchIndex;
+
+    public FileMatcher(FileMatchIndex matchIndex) {
+        this.matchIndex = matchIndex;
+    }
+
+    /**
+     * Returns the file path matched to each song, for every album that has a folder configured
+     * and for the optional library-wide folder (null or blank to skip it).
+     */
+    public Map<Song, String> assign(List<Album> albums, String libraryFolder) throws InterruptedException {
+        List<Callable<FolderResult>> tasks = new ArrayList<>();
+        for (Album album : albums) {
+            if (album.getFolderPath() == null) continue;
+            tasks.add(() -> scanFolder(album));
+        }
+
+        boolean scanLibraryFolder = libraryFolder != null && !libraryFolder.isBlank();
+        if (scanLibraryFolder) {
+            tasks.add(() -> scanLibraryFolder(libraryFolder, albums));
+        }
+
+        Map<Song, String> assignments = new HashMap<>();
+        Set<String> scannedFolders = new HashSet<>();
+        Set<String> seenFiles = new HashSet<>();
+        int cacheHits = 0;
+
+        if (!tasks.isEmpty()) {
+            int threads = Math.max(1, Math.min(MAX_THREADS, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors())));
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                for (Future<FolderResult> future : pool.invokeAll(tasks)) {
+                    FolderResult result;
+                    try {
+                        result = future.get();
+                    } catch (ExecutionException e) {
+                        LOGGER.error("Failed to scan album folder", e.getCause());
+                        continue;
+                    }
+                    if (result == null) continue;
+
+                    // Album folders win over the loose folder, whichever finishes first
+                    if (result.libraryWide()) {
+                        result.assignments().forEach(assignments::putIfAbsent);
+                    } else {
+                        assignments.putAll(result.assignments());
+                    }
+                    scannedFolders.add(result.folder());
+                    seenFiles.addAll(result.seenFiles());
+                    cacheHits += result.cacheHits();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        matchIndex.prune(scannedFolders, seenFiles);
+        matchIndex.saveIfDirty();
+        LOGGER.info("Assigned files from {} folders ({} of {} files served from the match cache)",
+                scannedFolders.size(), cacheHits, seenFiles.size());
+        return assignments;
+    }
+
+    /**
+     * The library-wide matches recorded for the given songs by the last scan of the loose folder,
+     * without listing it again. Only valid while neither the folder nor the library has changed.
+     */
+    public Map<Song, String> cachedLibraryMatches(String libraryFolder, List<Album> allAlbums, List<Song> songs) {
+        Map<Song, String> assignments = new HashMap<>();
+        if (libraryFolder == null || libraryFolder.isBlank()) return assignments;
+
+        String folder = new File(libraryFolder).getAbsolutePath();
+        String signature = FileMatchIndex.signature(librarySongs(allAlbums));
+        Map<String, Song> songsByTitle = new HashMap<>();
+        for (Song song : songs) {
+            songsByTitle.putIfAbsent(song.getTitle(), song);
+        }
+
+        matchIndex.matchedFiles(LIBRARY_WIDE_KEY, signature).forEach((path, title) -> {
+            Song song = songsByTitle.get(title);
+            if (song != null && folder.equals(new File(path).getParent())) {
+                assignments.put(song, path);
+            }
+        });
+        return assignments;
+    }
+
+    private FolderResult scanFolder(Album album) {
+        return scan(new File(album.getFolderPath()), album.getName(), album.getSongs(), false);
+    }
+
+    private FolderResult scanLibraryFolder(String folder, List<Album> albums) {
+        return scan(new File(folder), LIBRARY_WIDE_KEY, librarySongs(albums), true);
+    }
+
+    private static List<Song> librarySongs(List<Album> albums) {
+        List<Song> songs = new ArrayList<>();
+        for (Album album : albums) {
+            songs.addAll(album.getSongs());
+        }
+        return songs;
+    }
+
+    private FolderResult scan(File directory, String scope, List<Song> songs, boolean libraryWide) {
+        if (!directory.exists() || !directory.isDirectory()) return null;
+
+        File[] files = directory.listFiles((_, name) ->
+                name.toLowerCase(Locale.ROOT).endsWith(".mp3") ||
+                        name.toLowerCase(Locale.ROOT).endsWith(".m4a") ||
+                        name.toLowerCase(Locale.ROOT).endsWith(".wav")
+        );
+
+        if (files == null) return null;
+
+        String signature = FileMatchIndex.signature(songs);
+        Map<String, Song> songsByTitle = new HashMap<>();
+        for (Song song : songs) {
+            songsByTitle.putIfAbsent(song.getTitle(), song);
+        }
+
+        Map<Song, String> assignments = new HashMap<>();
+        List<String> seenFiles = new ArrayList<>(files.length);
+        int cacheHits = 0;
+        TitleIndex titleIndex = null; // only built once a file actually needs matching
+
+        for (File file : files) {
+            seenFiles.add(file.getAbsolutePath());
+
+            // Unchanged files reuse the previous result without normalizing or fuzzy matching
+            FileMatchIndex.Entry cached = matchIndex.lookup(file, scope, signature);
+            if (cached != null) {
+                cacheHits++;
+                Song cachedSong = cached.getSong() != null ? songsByTitle.get(cached.getSong()) : null;
+                if (cachedSong != null) {
+                    assignments.put(cachedSong, file.getAbsolutePath());
+                }
+                continue;
+            }
+
+            if (titleIndex == null) titleIndex = new TitleIndex(songs);
+            Song matchedSong = matchFileToSong(file, titleIndex);
+            matchIndex.record(file, scope, signature, matchedSong);
+
+            if (matchedSong != null) {
+                assignments.put(matchedSong, file.getAbsolutePath());
+                LOGGER.info("Matched: {} -> {} | path: {}", file.getName(), matchedSong.getTitle(), file.getAbsolutePath());
+            } else if (libraryWide) {
+                LOGGER.warn("Could not match file to any song in the library: {}", file.getName());
+            } else {
+                LOGGER.warn("Could not match file to song: {} in album {}", file.getName(), scope);
+            }
+        }
+
+        return new FolderResult(directory.getAbsolutePath(), assignments, seenFiles, cacheHits, libraryWide);
+    }
+
+    private Song matchFileToSong(File file, TitleIndex titleIndex) {
+        String normalizedFile = normalizeFilename(file.getName());
+        Song matchedSong = null;
+        int bestDistance = Integer.MAX_VALUE;
+
+        // Only songs that could be within the fuzzy threshold, in their original order
+        for (Song song : titleIndex.candidates(normalizedFile, MAX_FUZZY_DISTANCE)) {
+            String normalizedSong = song.getNormalizedTitle();
+
+            // exact or substring match first
+            if (normalizedFile.equalsIgnoreCase(normalizedSong)) {
+                return song;
+            }
+
+            // fallback fuzzy match if close enough, only caring whether it beats the best so far
+            int limit = Math.min(MAX_FUZZY_DISTANCE, bestDistance - 1);
+            if (limit < 0) break; // nothing can beat an exact match
+            int dist = levenshteinDistance(normalizedFile, normalizedSong, limit);
+            if (dist <= limit) {
+                matchedSong = song;
+                bestDistance = dist;
+            }
+        }
+
+        return matchedSong;
+    }
+
+    private record FolderResult(String folder, Map<Song, String> assignments, List<String> seenFiles,
+                                int cacheHits, boolean libraryWide) {}
+}
@@ -0,0 +1,69 @@
+package app.util;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Collects items from any thread and hands them to the FX thread in batches.
+ * At most one drain is scheduled at a time, so a burst of submissions costs a
+ * single {@code Platform.runLater} instead of one per item.
+ */
+public class FxBatchQueue<T> {
+
+    private final Queue<T> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final Consumer<List<T>> batchHandler;
+
+    // diagnostics
+    private volatile int lastBatchSize = 0;
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong itemCount = new AtomicLong();
+
+    public FxBatchQueue(Consumer<List<T>> batchHandler) {
+        this.batchHandler = batchHandler;
+    }
+
+    public void submit(T item) {
+        pending.add(item);
+        if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    private void drain() {
+        // clear the flag first so anything submitted while we drain schedules another pass
+        drainScheduled.set(false);
+
+        List<T> batch = new ArrayList<>();
+        T item;
+        while ((item = pending.poll()) != null) {
+            batch.add(item);
+        }
+        if (batch.isEmpty()) return;
+
+        lastBatchSize = batch.size();
+        batchCount.incrementAndGet();
+        itemCount.addAndGet(batch.size());
+
+        batchHandler.accept(batch);
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getItemCount() {
+        return itemCount.get();
+    }
+}
@@ -0,0 +1,41 @@
+package app.util;
+
+import java.io.File;
+
+/**
+ * The files kept in each per-game folder. Use {@link #file()} for the active game, or
+ * {@link #in(File)} when a folder has already been resolved.
+ */
+public enum GameFile {
+    CONNECTION("connection.json"),
+    ALBUM_FOLDERS("albumFolders.json"),
+    ALBUM_ORDER("albumOrder.json"),
+    LOCATIONS("locations.json"),
+    ALBUM_METADATA("album_metadata.json"),
+    SLOT_DATA("slot_data.json"),
+    SETTINGS("settings.json"),
+    QUEUE("queue.json"),
+    FILE_MATCHES("fileMatches.json"),
+    LIBRARY_SNAPSHOT("library.snapshot"),
+    CHECK_JOURNAL("checks.journal"),
+    ARTWORK("artwork");
+
+    private final String fileName;
+
+    GameFile(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /** This file in the active game's folder. */
+    public File file() {
+        return in(ConfigPaths.getConfigDir());
+    }
+
+    public File in(File gameDir) {
+        return new File(gameDir, fileName);
+    }
+}
@@ -0,0 +1,247 @@
+package app.util;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A set of names backed by a {@link BitSet} of dense IDs, with the usual {@code Set<String>}
+ * methods kept as a thin view so existing callers keep working. Hot paths can test membership
+ * with {@link #containsId(int)} instead of hashing the name.
+ * <p>
+ * A name may map to several IDs (the same song title on two albums); adding or removing it
+ * flips all of them together, while {@link #addId(int)} and {@link #removeId(int)} touch just
+ * one. Names the resolver doesn't know yet, such as items received before the library finished
+ * loading, are kept aside and picked up again by {@link #setResolver(IdResolver)}, which carries
+ * members over by name.
+ */
+public class IdSet extends AbstractSet<String> {
+
+    /** Maps names to dense IDs and back. */
+    public interface IdResolver {
+        /** The IDs for the name, or an empty array if it is unknown. */
+        int[] idsOf(String name);
+
+        /** The name for the ID, or null if it is out of range. */
+        String nameOf(int id);
+    }
+
+    /** Told which IDs flipped, so derived state can be updated incrementally. */
+    public interface Listener {
+        /** The given IDs were added or removed. */
+        void idsChanged(int[] ids);
+
+        /** The whole set changed (cleared or re-keyed); recompute from scratch. */
+        void reset();
+    }
+
+    /** A resolver that knows no names, for sets whose library isn't loaded yet. */
+    public static final IdResolver EMPTY = new IdResolver() {
+        @Override
+        public int[] idsOf(String name) {
+            return new int[0];
+        }
+
+        @Override
+        public String nameOf(int id) {
+            return null;
+        }
+    };
+
+    private IdResolver resolver;
+    private final BitSet bits = new BitSet();
+    private final Set<String> unresolved = new HashSet<>();
+    private final List<Listener> listeners = new ArrayList<>();
+
+    public IdSet(IdResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /** A set over an open-ended vocabulary (such as song types) that assigns IDs on first sight. */
+    public static IdSet interning() {
+        return new IdSet(new Interner());
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /** Switches to a new ID space, carrying the current members over by name. */
+    public void setResolver(IdResolver resolver) {
+        List<String> names = new ArrayList<>(this);
+        bits.clear();
+        unresolved.clear();
+        this.resolver = resolver;
+        for (String name : names) {
+            int[] ids = resolver.idsOf(name);
+            if (ids.length == 0) {
+                unresolved.add(name);
+            } else {
+                setBits(ids);
+            }
+        }
+        listeners.forEach(Listener::reset);
+    }
+
+    public boolean containsId(int id) {
+        return id >= 0 && bits.get(id);
+    }
+
+    /** A copy of the resolved members, for diffing against a later state. */
+    public BitSet copyBits() {
+        return (BitSet) bits.clone();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String name)) return false;
+        int[] ids = resolver.idsOf(name);
+        if (ids.length == 0) return unresolved.contains(name);
+        for (int id : ids) {
+            if (bits.get(id)) return true;
+        }
+        return false;
+    }
+
+    /** Adds only this ID, leaving other IDs that share its name alone. */
+    public boolean addId(int id) {
+        if (id < 0 || bits.get(id)) return false;
+        bits.set(id);
+        notifyChanged(new int[] {id});
+        return true;
+    }
+
+    public boolean removeId(int id) {
+        if (id < 0 || !bits.get(id)) return false;
+        bits.clear(id);
+        notifyChanged(new int[] {id});
+        return true;
+    }
+
+    @Override
+    public boolean add(String name) {
+        int[] ids = resolver.idsOf(name);
+        if (ids.length == 0) return unresolved.add(name);
+
+        boolean changed = setBits(ids);
+        if (changed) notifyChanged(ids);
+        return changed;
+    }
+
+    private boolean setBits(int[] ids) {
+        boolean changed = false;
+        for (int id : ids) {
+            if (!bits.get(id)) {
+                bits.set(id);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof String name)) return false;
+        int[] ids = resolver.idsOf(name);
+        if (ids.length == 0) return unresolved.remove(name);
+
+        boolean changed = false;
+        for (int id : ids) {
+            if (bits.get(id)) {
+                bits.clear(id);
+                changed = true;
+            }
+        }
+        if (changed) notifyChanged(ids);
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        boolean hadBits = !bits.isEmpty();
+        bits.clear();
+        unresolved.clear();
+        if (hadBits) listeners.forEach(Listener::reset);
+    }
+
+    private void notifyChanged(int[] ids) {
+        for (Listener listener : listeners) {
+            listener.idsChanged(ids);
+        }
+    }
+
+    @Override
+    public int size() {
+        return names().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bits.isEmpty() && unresolved.isEmpty();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        Iterator<String> it = names().iterator();
+        return new Iterator<>() {
+            private String last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public String next() {
+                if (!it.hasNext()) throw new NoSuchElementException();
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) throw new IllegalStateException();
+                IdSet.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    // Distinct member names, iterated over a copy so removal while iterating is safe
+    private Set<String> names() {
+        Set<String> names = new LinkedHashSet<>();
+        for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+            String name = resolver.nameOf(id);
+            if (name != null) names.add(name);
+        }
+        names.addAll(unresolved);
+        return names;
+    }
+
+    private static final class Interner implements IdResolver {
+        private final Map<String, int[]> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        @Override
+        public int[] idsOf(String name) {
+            if (name == null) return new int[0];
+            return ids.computeIfAbsent(name, key -> {
+                names.add(key);
+                return new int[] {names.size() - 1};
+            });
+        }
+
+        @Override
+        public String nameOf(int id) {
+            return id >= 0 && id < names.size() ? names.get(id) : null;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package app.util;
+
+import app.player.Album;
+import app.player.AlbumConverter;
+import app.player.Song;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Binary copy of the fully resolved library (albums, songs, types, full-unlock flags, folders
+ * and matched file paths), written after a normal load and read back on the next start when
+ * nothing it was built from has changed. Stored per game as library.snapshot.
+ * <p>
+ * The fingerprint covers the size and modification time of locations.json, album_metadata.json
+ * and albumFolders.json plus the modification time of every configured folder, which changes
+ * whenever files are added, removed or renamed in it.
+ */
+public class LibrarySnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibrarySnapshot.class);
+    private static final int MAGIC = 0x414D4353; // "AMCS"
+    private static final int VERSION = 1;        // bump whenever the layout or the conversion rules change
+
+    private final List<Album> albums;
+    private final Map<Song, String> filePaths;
+
+    private LibrarySnapshot(List<Album> albums, Map<Song, String> filePaths) {
+        this.albums = albums;
+        this.filePaths = filePaths;
+    }
+
+    public List<Album> getAlbums() {
+        return albums;
+    }
+
+    public Map<Song, String> getFilePaths() {
+        return filePaths;
+    }
+
+    public static String fingerprint(File gameDir, Map<String, String> albumFolders) {
+        StringBuilder builder = new StringBuilder("v").append(VERSION);
+
+        File locations = GameFile.LOCATIONS.in(gameDir);
+        if (locations.exists()) {
+            appendFile(builder, locations);
+        } else {
+            appendBundledLocations(builder);
+        }
+        appendFile(builder, GameFile.ALBUM_METADATA.in(gameDir));
+        appendFile(builder, GameFile.ALBUM_FOLDERS.in(gameDir));
+
+        // Sorted so the fingerprint doesn't depend on map order
+        for (Map.Entry<String, String> entry : new TreeMap<>(albumFolders).entrySet()) {
+            builder.append('|').append(entry.getKey()).append('=');
+            if (entry.getValue() != null && !entry.getValue().isBlank()) {
+                File folder = new File(entry.getValue());
+                builder.append(folder.getAbsolutePath()).append('@').append(folder.lastModified());
+            }
+        }
+        return builder.toString();
+    }
+
+    /** Returns the snapshot if one exists for exactly this fingerprint, otherwise null. */
+    public static LibrarySnapshot read(File gameDir, String fingerprint) {
+        File file = GameFile.LIBRARY_SNAPSHOT.in(gameDir);
+        if (!file.exists()) return null;
+
+        long start = System.nanoTime();
+        try {
+            // read into the heap rather than mapping: a mapping outlives the read and would block
+            // replacing the file on Windows when the snapshot has to be rewritten
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+            if (!fingerprint.equals(readString(buffer))) {
+                LOGGER.info("Library snapshot is out of date, loading from JSON");
+                return null;
+            }
+
+            int albumCount = buffer.getInt();
+            List<Album> albums = new ArrayList<>(albumCount);
+            Map<Song, String> filePaths = new HashMap<>();
+            int songTotal = 0;
+
+            for (int a = 0; a < albumCount; a++) {
+                String name = readString(buffer);
+                String type = readString(buffer);
+                boolean fullUnlock = buffer.get() != 0;
+                Album album = new Album(name, type, fullUnlock);
+                album.setFolderPath(readString(buffer));
+
+                int songCount = buffer.getInt();
+                for (int s = 0; s < songCount; s++) {
+                    Song song = new Song(readString(buffer), readString(buffer));
+                    String filePath = readString(buffer);
+                    if (filePath != null) filePaths.put(song, filePath);
+                    album.addSong(song);
+                }
+                songTotal += songCount;
+                albums.add(album);
+            }
+
+            AlbumConverter.assignIds(albums);
+            LOGGER.info("Loaded {} albums ({} songs, {} files) from the library snapshot in {} ms",
+                    albums.size(), songTotal, filePaths.size(), (System.nanoTime() - start) / 1_000_000);
+            return new LibrarySnapshot(albums, filePaths);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.warn("Could not read library snapshot {}, loading from JSON", file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    public static void write(File gameDir, String fingerprint, List<Album> albums, Map<Song, String> filePaths) {
+        File file = GameFile.LIBRARY_SNAPSHOT.in(gameDir);
+        File temp = new File(gameDir, file.getName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, fingerprint);
+
+            out.writeInt(albums.size());
+            for (Album album : albums) {
+                writeString(out, album.getName());
+                writeString(out, album.getType());
+                out.writeBoolean(album.isFullAlbumUnlock());
+                writeString(out, album.getFolderPath());
+
+                out.writeInt(album.getSongs().size());
+                for (Song song : album.getSongs()) {
+                    writeString(out, song.getTitle());
+                    writeString(out, song.getType());
+                    writeString(out, filePaths.get(song));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to write library snapshot to {}", temp.getAbsolutePath(), e);
+            return;
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.info("Saved library snapshot to {}", file.getAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.error("Failed to replace library snapshot {}", file.getAbsolutePath(), e);
+        }
+    }
+
+    private static void appendFile(StringBuilder builder, File file) {
+        builder.append('|').append(file.getName()).append(':');
+        if (file.exists()) {
+            builder.append(file.length()).append('@').append(file.lastModified());
+        }
+    }
+
+    private static void appendBundledLocations(StringBuilder builder) {
+        builder.append("|bundled:");
+        URL resource = LibrarySnapshot.class.getResource("/locations.json");
+        if (resource == null) return;
+        try {
+            URLConnection connection = resource.openConnection();
+            builder.append(connection.getContentLengthLong()).append('@').append(connection.getLastModified());
+        } catch (IOException e) {
+            builder.append("unknown");
+        }
+    }
+
+    // Length-prefixed UTF-8, with -1 standing in for null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        if (length > buffer.remaining()) throw new IllegalArgumentException("Truncated snapshot");
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
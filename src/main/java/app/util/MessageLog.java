@@ -0,0 +1,119 @@
+package app.util;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The text client's message history: a ring buffer holding the newest {@code capacity} lines.
+ * Appending past the cap drops the oldest lines, so a long session keeps a fixed footprint.
+ * Each appended batch is reported as one change, which lets a virtualized list show it with a
+ * single layout pass. Like any list backing a control, it must only be changed on the FX thread.
+ */
+public class MessageLog extends ObservableListBase<String> {
+
+    private String[] lines;
+    private int head;
+    private int size;
+
+    public MessageLog(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        this.lines = new String[capacity];
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for log of " + size);
+        }
+        return lines[slot(index)];
+    }
+
+    public void append(String line) {
+        append(List.of(line));
+    }
+
+    /** Appends the lines in order, evicting the oldest ones once the log is full. */
+    public void append(List<String> batch) {
+        if (batch.isEmpty()) return;
+        int capacity = lines.length;
+
+        // Only the newest lines of an oversized batch could survive anyway
+        if (batch.size() >= capacity) {
+            List<String> removed = new ArrayList<>(this);
+            List<String> kept = batch.subList(batch.size() - capacity, batch.size());
+            for (int i = 0; i < capacity; i++) lines[i] = kept.get(i);
+            head = 0;
+            size = capacity;
+
+            beginChange();
+            nextReplace(0, size, removed);
+            endChange();
+            return;
+        }
+
+        int overflow = Math.max(0, size + batch.size() - capacity);
+        List<String> evicted = new ArrayList<>(subList(0, overflow));
+        head = slot(overflow);
+        size -= overflow;
+        for (String line : batch) {
+            lines[slot(size)] = line;
+            size++;
+        }
+
+        beginChange();
+        if (overflow > 0) nextRemove(0, evicted);
+        nextAdd(size - batch.size(), size);
+        endChange();
+    }
+
+    /** Changes the cap, keeping the newest lines that still fit. */
+    public void setCapacity(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        if (capacity == lines.length) return;
+
+        int dropped = Math.max(0, size - capacity);
+        List<String> evicted = new ArrayList<>(subList(0, dropped));
+        String[] resized = new String[capacity];
+        for (int i = dropped; i < size; i++) {
+            resized[i - dropped] = lines[slot(i)];
+        }
+        lines = resized;
+        head = 0;
+        size -= dropped;
+
+        if (dropped > 0) {
+            beginChange();
+            nextRemove(0, evicted);
+            endChange();
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) return;
+        List<String> removed = new ArrayList<>(this);
+        lines = new String[lines.length];
+        head = 0;
+        size = 0;
+
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    private int slot(int index) {
+        int slot = head + index;
+        return slot < lines.length ? slot : slot - lines.length;
+    }
+}
@@ -1,28 +1,38 @@
 package app.util;
 
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
 public class Normalization {
 
     private Normalization() {} // utility class
 
+    // Compiled once; these run for every audio file in every scanned folder
+    private static final Pattern EXTENSION = Pattern.compile("[.][^.]+$");
+    private static final Pattern TRUNCATED_TAYLORS_VERSION = Pattern.compile("(?i)Taylor's Ver(\\b)?");
+    private static final Pattern LEADING_TRACK_NUMBER = Pattern.compile("(?i)^(cd\\d+ )?\\d+[-. _]+");
+    private static final Pattern FEAT = Pattern.compile("(?i)ft\\.?|feat\\.?");
+    private static final Pattern MULTIPLE_SPACES = Pattern.compile(" {2,}");
+    private static final Pattern TRAILING_OPEN_PAREN = Pattern.compile("\\(\\s*$");
+
     public static String normalizeFilename(String filename) {
         // 1. Remove extension
-        String base = filename.replaceFirst("[.][^.]+$", "");
+        String base = EXTENSION.matcher(filename).replaceFirst("");
 
         // 2. Fix truncated "Taylor's Ver" → "Taylor's Version"
-        base = base.replaceAll("(?i)Taylor's Ver(\\b)?", "Taylor's Version");
+        base = TRUNCATED_TAYLORS_VERSION.matcher(base).replaceAll("Taylor's Version");
 
         // 3. Remove leading track/CD numbers
-        base = base.replaceFirst("(?i)^(cd\\d+ )?\\d+[-. _]+", "");
+        base = LEADING_TRACK_NUMBER.matcher(base).replaceFirst("");
 
         // 4. Normalize “feat.” variations
-        base = base.replaceAll("(?i)ft\\.?|feat\\.?","feat.");
+        base = FEAT.matcher(base).replaceAll("feat.");
 
         // 5. Clean underscores/spaces
-        base = base.replaceAll("_", " ");
-        base = base.replaceAll(" +", " ");
+        base = collapseSpaces(base.replace('_', ' '));
 
         // 6. Trim broken parenthesis at the end
-        base = base.replaceAll("\\(\\s*$", "");
+        base = TRAILING_OPEN_PAREN.matcher(base).replaceFirst("");
 
         return base.trim();
     }
@@ -46,16 +56,82 @@ public class Normalization {
         return costs[b.length()];
     }
 
-    public static String normalizeSongTitle(String title) {
-        String normalized = title;
+    // Two DP rows per thread, grown on demand and reused across calls
+    private static final ThreadLocal<int[][]> LEVENSHTEIN_ROWS = ThreadLocal.withInitial(() -> new int[2][64]);
+
+    /**
+     * Case-insensitive edit distance that gives up once the result is known to exceed
+     * {@code maxDistance}. Only the diagonal band of width {@code 2 * maxDistance + 1} is
+     * evaluated, and no strings are copied or lower-cased up front.
+     *
+     * @return the distance if it is at most {@code maxDistance}, otherwise {@code maxDistance + 1}
+     * @throws IllegalArgumentException if {@code maxDistance} is negative
+     */
+    public static int levenshteinDistance(CharSequence a, CharSequence b, int maxDistance) {
+        if (maxDistance < 0) throw new IllegalArgumentException("maxDistance must not be negative: " + maxDistance);
+
+        // keep a as the shorter sequence so the rows stay small
+        if (a.length() > b.length()) {
+            CharSequence tmp = a;
+            a = b;
+            b = tmp;
+        }
+        int n = a.length();
+        int m = b.length();
+
+        if (m - n > maxDistance) return maxDistance + 1;
+        if (n == 0) return m;
+
+        int[][] rows = LEVENSHTEIN_ROWS.get();
+        if (rows[0].length < n + 1) {
+            rows[0] = new int[n + 1];
+            rows[1] = new int[n + 1];
+        }
+        int[] prev = rows[0];
+        int[] curr = rows[1];
+
+        int boundary = Math.min(n, maxDistance) + 1;
+        for (int i = 0; i < boundary; i++) prev[i] = i;
+        Arrays.fill(prev, boundary, n + 1, Integer.MAX_VALUE);
+        Arrays.fill(curr, 0, n + 1, Integer.MAX_VALUE);
 
-        // Replace any extra underscores or spaces
-        normalized = normalized.replaceAll("_", " ");
-        normalized = normalized.replaceAll(" +", " ");
+        for (int j = 1; j <= m; j++) {
+            char bj = Character.toLowerCase(b.charAt(j - 1));
+            curr[0] = j;
 
-        // Trim
-        normalized = normalized.trim();
+            // only cells within maxDistance of the diagonal can stay under the limit
+            int from = Math.max(1, j - maxDistance);
+            int to = j > Integer.MAX_VALUE - maxDistance ? n : Math.min(n, j + maxDistance);
+            if (from > to) return maxDistance + 1;
+            if (from > 1) curr[from - 1] = Integer.MAX_VALUE;
+
+            int rowMin = Integer.MAX_VALUE;
+            for (int i = from; i <= to; i++) {
+                if (Character.toLowerCase(a.charAt(i - 1)) == bj) {
+                    curr[i] = prev[i - 1];
+                } else {
+                    curr[i] = 1 + Math.min(Math.min(curr[i - 1], prev[i]), prev[i - 1]);
+                }
+                rowMin = Math.min(rowMin, curr[i]);
+            }
+            if (rowMin > maxDistance) return maxDistance + 1;
+
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+
+        return prev[n] <= maxDistance ? prev[n] : maxDistance + 1;
+    }
+
+    public static String normalizeSongTitle(String title) {
+        // Replace any extra underscores or spaces, then trim
+        return collapseSpaces(title.replace('_', ' ')).trim();
+    }
 
-        return normalized;
+    private static String collapseSpaces(String text) {
+        // most titles have no double spaces, skip the matcher entirely for those
+        if (!text.contains("  ")) return text;
+        return MULTIPLE_SPACES.matcher(text).replaceAll(" ");
     }
 }
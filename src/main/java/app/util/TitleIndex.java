@@ -0,0 +1,124 @@
+package app.util;
+
+import app.player.Song;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Trigram inverted index over normalized song titles. Given a normalized file name and an
+ * edit distance budget it returns only the songs that can possibly be within that distance,
+ * so fuzzy matching scores a handful of candidates instead of every song.
+ * <p>
+ * Filtering uses the q-gram lemma: strings within edit distance k share at least
+ * max(|a|, |b|) + q - 1 - k * q padded q-grams, and their lengths differ by at most k.
+ * Candidates come back in the order the songs were indexed.
+ */
+public class TitleIndex {
+
+    private static final int Q = 3;
+    private static final char PAD = '\u0000';
+
+    private final List<Song> songs;
+    private final int[] lengths;
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<Integer, List<Integer>> idsByLength = new HashMap<>();
+
+    public TitleIndex(List<Song> songs) {
+        this.songs = List.copyOf(songs);
+        this.lengths = new int[this.songs.size()];
+
+        for (int id = 0; id < this.songs.size(); id++) {
+            String key = this.songs.get(id).getNormalizedTitle();
+            lengths[id] = key.length();
+            idsByLength.computeIfAbsent(key.length(), _ -> new ArrayList<>()).add(id);
+
+            for (Map.Entry<String, Integer> gram : trigrams(key).entrySet()) {
+                postings.computeIfAbsent(gram.getKey(), _ -> new Posting()).add(id, gram.getValue());
+            }
+        }
+    }
+
+    public int size() {
+        return songs.size();
+    }
+
+    /** Songs whose normalized title may be within {@code maxDistance} edits of the given key. */
+    public List<Song> candidates(String normalizedKey, int maxDistance) {
+        int queryLength = normalizedKey.length();
+        Map<Integer, Integer> shared = new HashMap<>();
+
+        for (Map.Entry<String, Integer> gram : trigrams(normalizedKey).entrySet()) {
+            Posting posting = postings.get(gram.getKey());
+            if (posting == null) continue;
+            for (int i = 0; i < posting.size; i++) {
+                shared.merge(posting.ids[i], Math.min(gram.getValue(), posting.counts[i]), Integer::sum);
+            }
+        }
+
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            int id = entry.getKey();
+            if (Math.abs(lengths[id] - queryLength) > maxDistance) continue;
+            if (entry.getValue() >= requiredShared(queryLength, lengths[id], maxDistance)) {
+                ids.add(id);
+            }
+        }
+
+        // Short titles can be within budget without sharing a single trigram
+        int shortLimit = maxDistance * Q - Q + 1;
+        if (queryLength <= shortLimit) {
+            for (int length = Math.max(0, queryLength - maxDistance); length <= Math.min(shortLimit, queryLength + maxDistance); length++) {
+                ids.addAll(idsByLength.getOrDefault(length, List.of()));
+            }
+        }
+
+        List<Song> result = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            result.add(songs.get(id));
+        }
+        return result;
+    }
+
+    private static int requiredShared(int lengthA, int lengthB, int maxDistance) {
+        return Math.max(lengthA, lengthB) + Q - 1 - maxDistance * Q;
+    }
+
+    // Case-folded per character, matching how levenshteinDistance compares
+    private static Map<String, Integer> trigrams(String key) {
+        char[] padded = new char[key.length() + 2 * (Q - 1)];
+        for (int i = 0; i < Q - 1; i++) {
+            padded[i] = PAD;
+            padded[padded.length - 1 - i] = PAD;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            padded[Q - 1 + i] = Character.toLowerCase(key.charAt(i));
+        }
+
+        Map<String, Integer> grams = new HashMap<>();
+        for (int i = 0; i + Q <= padded.length; i++) {
+            grams.merge(new String(padded, i, Q), 1, Integer::sum);
+        }
+        return grams;
+    }
+
+    private static final class Posting {
+        private int[] ids = new int[2];
+        private int[] counts = new int[2];
+        private int size = 0;
+
+        private void add(int id, int count) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            ids[size] = id;
+            counts[size] = count;
+            size++;
+        }
+    }
+}
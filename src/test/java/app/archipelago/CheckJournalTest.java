@@ -0,0 +1,117 @@
+package app.archipelago;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckJournalTest {
+
+    @Test
+    void record_appendsEachLocationOnce_acrossReopen(@TempDir Path dir) throws IOException {
+        CheckJournal journal = new CheckJournal();
+        journal.open(dir.toFile());
+        journal.record("Love Story");
+        journal.record("Style");
+        journal.record("Love Story");
+
+        CheckJournal reopened = new CheckJournal();
+        reopened.open(dir.toFile());
+        reopened.record("Style");
+        reopened.record("Willow");
+
+        File file = dir.resolve("checks.journal").toFile();
+        assertEquals(List.of("Love Story", "Style", "Willow"), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void replay_sendsUncheckedInOneBatchAndDropsCheckedOrUnknown(@TempDir Path dir) throws IOException {
+        CheckJournal journal = journalWith(dir, "Love Story", "Style", "Willow", "Not A Location");
+        FakeSession session = new FakeSession(true, Map.of("Love Story", 1L, "Style", 2L, "Willow", 3L), Set.of(2L));
+
+        journal.replay(session);
+
+        assertEquals(List.of(List.of(1L, 3L)), session.sent);
+        assertEquals(List.of("Love Story", "Willow"), readJournal(dir));
+    }
+
+    @Test
+    void replay_keepsJustSentEntriesUntilTheServerListsThem(@TempDir Path dir) throws IOException {
+        CheckJournal journal = journalWith(dir, "Love Story");
+        FakeSession session = new FakeSession(true, Map.of("Love Story", 1L), Set.of());
+
+        journal.replay(session);
+        assertEquals(List.of(List.of(1L)), session.sent);
+        assertEquals(List.of("Love Story"), readJournal(dir));
+
+        // the check was lost in flight, so the next connection sends it again
+        journal.replay(session);
+        assertEquals(List.of(List.of(1L), List.of(1L)), session.sent);
+    }
+
+    @Test
+    void replay_withoutLocationIndexLeavesJournalUntouched(@TempDir Path dir) throws IOException {
+        CheckJournal journal = journalWith(dir, "Love Story", "Style");
+        FakeSession session = new FakeSession(false, Map.of(), null);
+
+        journal.replay(session);
+
+        assertTrue(session.sent.isEmpty());
+        assertEquals(List.of("Love Story", "Style"), readJournal(dir));
+    }
+
+    private static CheckJournal journalWith(Path dir, String... names) {
+        CheckJournal journal = new CheckJournal();
+        journal.open(dir.toFile());
+        for (String name : names) journal.record(name);
+        return journal;
+    }
+
+    private static List<String> readJournal(Path dir) throws IOException {
+        return Files.readAllLines(dir.resolve("checks.journal"), StandardCharsets.UTF_8);
+    }
+
+    private static final class FakeSession implements CheckJournal.Session {
+        private final boolean indexed;
+        private final Map<String, Long> ids;
+        private final Set<Long> checked;
+        private final List<List<Long>> sent = new ArrayList<>();
+
+        private FakeSession(boolean indexed, Map<String, Long> ids, Set<Long> checked) {
+            this.indexed = indexed;
+            this.ids = ids;
+            this.checked = checked;
+        }
+
+        @Override
+        public boolean hasLocationIndex() {
+            return indexed;
+        }
+
+        @Override
+        public Long resolveLocation(String locationName) {
+            return ids.get(locationName);
+        }
+
+        @Override
+        public Collection<Long> checkedLocations() {
+            return checked;
+        }
+
+        @Override
+        public void sendChecks(Collection<Long> locationIDs) {
+            sent.add(new ArrayList<>(locationIDs));
+        }
+    }
+}
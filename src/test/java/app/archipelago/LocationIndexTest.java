@@ -0,0 +1,29 @@
+package app.archipelago;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationIndexTest {
+
+    @Test
+    void resolve_fallsBackToNormalizedName_unlessAmbiguous() {
+        LocationIndex index = new LocationIndex(Map.of(
+                "Love Story", 1L,
+                "Style", 2L,
+                "style", 3L
+        ));
+
+        assertEquals(1L, index.resolve("Love Story"));
+        assertEquals(1L, index.resolve("love_story"));
+        assertEquals(1L, index.resolve("Love  Story "));
+
+        // Exact names still win, but the shared normalized form is dropped
+        assertEquals(2L, index.resolve("Style"));
+        assertEquals(3L, index.resolve("style"));
+        assertNull(index.resolve("STYLE"));
+        assertNull(index.resolve("Unknown"));
+    }
+}
@@ -0,0 +1,91 @@
+package app.player;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayQueueTest {
+
+    private static List<Song> songs(int count) {
+        List<Song> songs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            songs.add(new Song("Song " + i, "standard"));
+        }
+        return songs;
+    }
+
+    @Test
+    void matchesListBehaviour_andReportsMatchingChanges() {
+        List<Song> pool = songs(40);
+        PlayQueue queue = new PlayQueue();
+        List<Song> expected = new ArrayList<>();
+        Random random = new Random(7);
+
+        // Replaying every change onto a plain list must give the same contents
+        List<Song> mirror = new ArrayList<>();
+        queue.addListener((ListChangeListener<Song>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    List<Song> before = new ArrayList<>(mirror.subList(change.getFrom(), change.getTo()));
+                    for (int i = change.getFrom(); i < change.getTo(); i++) {
+                        mirror.set(change.getPermutation(i), before.get(i - change.getFrom()));
+                    }
+                } else {
+                    mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                    mirror.addAll(change.getFrom(), change.getAddedSubList());
+                }
+            }
+        });
+
+        for (int step = 0; step < 2000; step++) {
+            Song song = pool.get(random.nextInt(pool.size()));
+            switch (random.nextInt(6)) {
+                case 0 -> { queue.add(song); expected.add(song); }
+                case 1 -> { queue.addFirst(song); expected.add(0, song); }
+                case 2 -> assertEquals(expected.isEmpty() ? null : expected.remove(0), queue.poll());
+                case 3 -> {
+                    if (expected.isEmpty()) continue;
+                    int index = random.nextInt(expected.size());
+                    assertSame(expected.remove(index), queue.remove(index));
+                }
+                case 4 -> {
+                    if (expected.isEmpty()) continue;
+                    int from = random.nextInt(expected.size());
+                    int to = random.nextInt(expected.size());
+                    expected.add(to, expected.remove(from));
+                    queue.move(from, to);
+                }
+                default -> { queue.addAll(List.of(song, song)); expected.add(song); expected.add(song); }
+            }
+            assertEquals(expected, queue);
+            assertEquals(expected, mirror);
+        }
+    }
+
+    @Test
+    void shuffle_keepsEverySong_andReportsOnePermutation() {
+        List<Song> pool = songs(20);
+        PlayQueue queue = new PlayQueue();
+        queue.addAll(pool);
+
+        int[] changes = {0};
+        queue.addListener((ListChangeListener<Song>) change -> {
+            while (change.next()) {
+                assertTrue(change.wasPermutated());
+                changes[0]++;
+            }
+        });
+        queue.shuffle(new Random(3));
+
+        assertEquals(1, changes[0]);
+        assertEquals(pool.size(), queue.size());
+        assertEquals(new HashSet<>(pool), new HashSet<>(queue));
+        assertNotEquals(pool, queue);
+    }
+}
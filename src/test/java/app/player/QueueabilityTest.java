@@ -0,0 +1,55 @@
+package app.player;
+
+import app.util.AlbumLibrary;
+import app.util.IdSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueabilityTest {
+
+    @Test
+    void followsUnlocksAndTypesIncrementally() {
+        Album locked = new Album("Locked", "standard");
+        Song intro = new Song("Intro", "standard");
+        Song bonus = new Song("Bonus", "vault");
+        locked.addSong(intro);
+        locked.addSong(bonus);
+        Album full = new Album("Full", "standard", true);
+        Song opener = new Song("Opener", "standard");
+        full.addSong(opener);
+
+        List<Album> albums = new ArrayList<>(List.of(locked, full));
+        AlbumConverter.assignIds(albums);
+        AlbumLibrary library = new AlbumLibrary(albums);
+
+        IdSet enabledSets = IdSet.interning();
+        IdSet unlockedSongs = new IdSet(library.getSongIds());
+        IdSet unlockedAlbums = new IdSet(library.getAlbumIds());
+        Queueability queueability = new Queueability(enabledSets, unlockedSongs, unlockedAlbums);
+        queueability.setLibrary(albums);
+
+        enabledSets.add("standard");
+        assertTrue(queueability.isPlayable(opener));
+        assertFalse(queueability.isPlayable(intro));
+
+        // Song alone isn't enough without its album
+        unlockedSongs.add("Intro");
+        assertFalse(queueability.isPlayable(intro));
+        unlockedAlbums.add("Locked");
+        assertEquals(List.of(intro), queueability.getQueueableSongs(locked));
+
+        unlockedSongs.add("Bonus");
+        assertFalse(queueability.isPlayable(bonus));
+        enabledSets.add("vault");
+        assertEquals(List.of(intro, bonus), queueability.getQueueableSongs(locked));
+        assertEquals(locked.getQueueableSongs(enabledSets, unlockedSongs, unlockedAlbums),
+                queueability.getQueueableSongs(locked));
+
+        unlockedAlbums.remove("Locked");
+        assertTrue(queueability.getQueueableSongs(locked).isEmpty());
+    }
+}
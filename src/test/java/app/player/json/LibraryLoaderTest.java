@@ -0,0 +1,69 @@
+package app.player.json;
+
+import app.player.Album;
+import app.player.AlbumConverter;
+import app.player.Song;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LibraryLoaderTest {
+
+    private static final String LOCATIONS = """
+            [
+              {"name": "Love Story", "region": "Fearless", "category": ["Re-recordings"], "requires": "|Fearless|"},
+              {"name": "Fifteen", "region": "Fearless", "category": "Re-recordings", "requires": ["|Fearless|"], "extra": {"a": 1}},
+              {"name": "Bonus 1", "region": "Bonus Locations", "category": []},
+              {"name": "Loose Song", "category": ["Short Songs"]}
+            ]
+            """;
+
+    @Test
+    void loadAlbumsFromReader_skipsLocationsWithoutName() throws Exception {
+        String json = """
+                [
+                  {"region": "Fearless", "category": ["Re-recordings"]},
+                  {"name": null, "region": "Fearless"},
+                  {"name": "Love Story", "region": "Fearless", "category": ["Re-recordings"]}
+                ]
+                """;
+        AlbumConverter converter = new AlbumConverter(Map.of());
+        List<Album> albums = new LibraryLoader().loadAlbumsFromReader(new StringReader(json), converter, new HashMap<>());
+
+        assertEquals(1, albums.size());
+        assertEquals(List.of("Love Story"), albums.get(0).getSongs().stream().map(Song::getTitle).toList());
+        assertEquals(1, converter.getSongCount());
+    }
+
+    @Test
+    void loadAlbumsFromReader_groupsLocationsIntoAlbums() throws Exception {
+        AlbumConverter converter = new AlbumConverter(Map.of());
+        List<Album> albums = new LibraryLoader().loadAlbumsFromReader(new StringReader(LOCATIONS), converter, null);
+
+        assertEquals(2, albums.size());
+        Album fearless = albums.stream().filter(a -> a.getName().equals("Fearless")).findFirst().orElseThrow();
+        assertEquals("rerecording", fearless.getType());
+        assertEquals(List.of("Love Story", "Fifteen"), fearless.getSongs().stream().map(Song::getTitle).toList());
+
+        Album songs = albums.stream().filter(a -> a.getName().equals("Songs")).findFirst().orElseThrow();
+        assertEquals("short", songs.getSongs().get(0).getType());
+
+        assertEquals(3, converter.getSongCount());
+        assertEquals(1, converter.getSkippedCount());
+    }
+
+    @Test
+    void loadAlbumsFromReader_collectsRequiresOnlyWhenAsked() throws Exception {
+        Map<String, List<String>> requires = new HashMap<>();
+        new LibraryLoader().loadAlbumsFromReader(new StringReader(LOCATIONS), new AlbumConverter(Map.of()), requires);
+
+        assertEquals(List.of("|Fearless|"), requires.get("Love Story"));
+        assertEquals(List.of("|Fearless|"), requires.get("Fifteen"));
+        assertEquals(List.of(), requires.get("Loose Song"));
+    }
+}
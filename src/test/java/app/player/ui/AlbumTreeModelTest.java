@@ -0,0 +1,49 @@
+package app.player.ui;
+
+import app.player.Album;
+import app.player.AlbumConverter;
+import app.player.Song;
+import app.util.AlbumLibrary;
+import app.util.IdSet;
+import javafx.scene.control.TreeItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlbumTreeModelTest {
+
+    @Test
+    void songNodesKeepTheirOwnSongWhenTitlesAreShared() {
+        Album first = new Album("First", "standard");
+        first.addSong(new Song("Shared", "standard"));
+        Album second = new Album("Second", "standard");
+        second.addSong(new Song("Shared", "standard"));
+        List<Album> albums = new ArrayList<>(List.of(first, second));
+        AlbumConverter.assignIds(albums);
+
+        AlbumLibrary library = new AlbumLibrary(albums);
+        IdSet enabledAlbums = new IdSet(library.getAlbumIds());
+        enabledAlbums.add("First");
+        enabledAlbums.add("Second");
+        IdSet enabledSets = IdSet.interning();
+        enabledSets.add("standard");
+
+        AlbumTreeModel model = new AlbumTreeModel();
+        model.setAlbums(albums);
+        model.update(enabledAlbums, enabledSets, new IdSet(library.getSongIds()), new IdSet(library.getAlbumIds()));
+
+        List<TreeItem<Object>> albumItems = model.getRoot().getChildren();
+        assertEquals(2, albumItems.size());
+        assertSame(first, albumItems.get(0).getValue());
+        assertSame(second, albumItems.get(1).getValue());
+
+        Object firstSong = albumItems.get(0).getChildren().get(0).getValue();
+        Object secondSong = albumItems.get(1).getChildren().get(0).getValue();
+        assertSame(first.getSongs().get(0), firstSong);
+        assertSame(second.getSongs().get(0), secondSong);
+        assertSame(second, library.getAlbumForSong((Song) secondSong));
+    }
+}
@@ -0,0 +1,78 @@
+package app.util;
+
+import app.player.Album;
+import app.player.AlbumConverter;
+import app.player.Song;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlbumLibraryTest {
+
+    private static List<Album> sampleAlbums() {
+        Album first = new Album("First Album", "standard");
+        first.addSong(new Song("Opening Track", "standard"));
+        first.addSong(new Song("Shared Title", "standard"));
+
+        Album second = new Album("Second Album", "rerecording");
+        second.addSong(new Song("Shared Title", "rerecording"));
+        second.addSong(new Song("Closing Track", "rerecording"));
+
+        List<Album> albums = new ArrayList<>();
+        albums.add(first);
+        albums.add(second);
+        return albums;
+    }
+
+    @Test
+    void lookups_findAlbumsAndSongs() {
+        AlbumLibrary library = new AlbumLibrary(sampleAlbums());
+
+        assertEquals("Second Album", library.getAlbumByName("Second Album").getName());
+        assertEquals("Closing Track", library.getSongByTitle("Closing Track").getTitle());
+        assertEquals("Second Album", library.getAlbumForSong("Closing Track").getName());
+        assertNull(library.getAlbumByName("Missing"));
+        assertNull(library.getSongByTitle(null));
+    }
+
+    @Test
+    void duplicateTitles_resolveToFirstAlbum() {
+        AlbumLibrary library = new AlbumLibrary(sampleAlbums());
+
+        assertEquals("First Album", library.getAlbumForSong("Shared Title").getName());
+        assertEquals("standard", library.getSongByTitle("Shared Title").getType());
+    }
+
+    @Test
+    void getAlbumForSong_resolvesSharedTitlesById() {
+        List<Album> albums = sampleAlbums();
+        AlbumConverter.assignIds(albums);
+        AlbumLibrary library = new AlbumLibrary(albums);
+
+        Song firstShared = albums.get(0).getSongs().get(1);
+        Song secondShared = albums.get(1).getSongs().get(0);
+        assertSame(albums.get(0), library.getAlbumForSong(firstShared));
+        assertSame(albums.get(1), library.getAlbumForSong(secondShared));
+    }
+
+    @Test
+    void rebuildIndex_picksUpChangedContents() {
+        List<Album> albums = sampleAlbums();
+        AlbumLibrary library = new AlbumLibrary(albums);
+
+        Album added = new Album("Third Album", "standard");
+        added.addSong(new Song("Bonus Track", "standard"));
+        albums.add(added);
+        assertNull(library.getSongByTitle("Bonus Track"));
+
+        library.rebuildIndex();
+        assertEquals("Third Album", library.getAlbumForSong("Bonus Track").getName());
+
+        albums.clear();
+        library.rebuildIndex();
+        assertNull(library.getAlbumByName("First Album"));
+    }
+}
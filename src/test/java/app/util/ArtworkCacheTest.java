@@ -0,0 +1,31 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArtworkCacheTest {
+
+    @Test
+    void prune_keepsMostRecentlyUsedFiles(@TempDir Path dir) throws IOException {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            File file = Files.createFile(dir.resolve("entry" + i + (i % 2 == 0 ? ".png" : ".none"))).toFile();
+            assertTrue(file.setLastModified(now - (5 - i) * 60_000L));
+        }
+
+        ArtworkCache.prune(dir.toFile(), 3);
+
+        assertFalse(dir.resolve("entry0.png").toFile().exists());
+        assertFalse(dir.resolve("entry1.none").toFile().exists());
+        assertTrue(dir.resolve("entry2.png").toFile().exists());
+        assertTrue(dir.resolve("entry3.none").toFile().exists());
+        assertTrue(dir.resolve("entry4.png").toFile().exists());
+    }
+}
@@ -0,0 +1,96 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArtworkExtractorTest {
+
+    private static final byte[] PICTURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x00, 0x01, 0x02, 0x03, (byte) 0xFF, (byte) 0xD9};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void extract_readsApicFrameFromId3v23() throws IOException {
+        byte[] apic = concat(new byte[] {0}, ascii("image/jpeg\0"), new byte[] {3}, ascii("cover\0"), PICTURE);
+        byte[] tag = concat(frame("TIT2", ascii("\0Title"), false), frame("APIC", apic, false), new byte[32]);
+        File file = write("song.mp3", concat(id3Header(3, tag.length), tag, new byte[64]));
+
+        assertArrayEquals(PICTURE, ArtworkExtractor.extract(file));
+    }
+
+    @Test
+    void extract_readsApicFrameWithUtf16DescriptionFromId3v24() throws IOException {
+        byte[] description = concat(new byte[] {(byte) 0xFF, (byte) 0xFE}, "Cover".getBytes(StandardCharsets.UTF_16LE), new byte[] {0, 0});
+        byte[] apic = concat(new byte[] {1}, ascii("image/png\0"), new byte[] {3}, description, PICTURE);
+        byte[] tag = frame("APIC", apic, true);
+        File file = write("song.mp3", concat(id3Header(4, tag.length), tag));
+
+        assertArrayEquals(PICTURE, ArtworkExtractor.extract(file));
+    }
+
+    @Test
+    void extract_returnsNullWhenTagHasNoPicture() throws IOException {
+        byte[] tag = concat(frame("TIT2", ascii("\0Title"), false), new byte[16]);
+        File file = write("song.mp3", concat(id3Header(3, tag.length), tag));
+
+        assertNull(ArtworkExtractor.extract(file));
+    }
+
+    @Test
+    void extract_readsCovrAtomFromM4a() throws IOException {
+        byte[] data = atom("data", concat(new byte[] {0, 0, 0, 13, 0, 0, 0, 0}, PICTURE));
+        byte[] ilst = atom("ilst", concat(atom("©nam", atom("data", ascii("\0\0\0\1\0\0\0\0Title"))), atom("covr", data)));
+        byte[] meta = atom("meta", concat(new byte[4], atom("hdlr", new byte[25]), ilst));
+        byte[] moov = atom("moov", concat(atom("mvhd", new byte[100]), atom("udta", meta)));
+        File file = write("song.m4a", concat(atom("ftyp", ascii("M4A \0\0\0\0")), atom("mdat", new byte[256]), moov));
+
+        assertArrayEquals(PICTURE, ArtworkExtractor.extract(file));
+    }
+
+    private File write(String name, byte[] content) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.write(path, content);
+        return path.toFile();
+    }
+
+    private static byte[] id3Header(int version, int size) {
+        return concat(ascii("ID3"), new byte[] {(byte) version, 0, 0}, syncsafe(size));
+    }
+
+    private static byte[] frame(String id, byte[] body, boolean syncsafeSize) {
+        byte[] size = syncsafeSize ? syncsafe(body.length) : ByteBuffer.allocate(4).putInt(body.length).array();
+        return concat(ascii(id), size, new byte[2], body);
+    }
+
+    private static byte[] atom(String type, byte[] payload) {
+        byte[] type4 = type.getBytes(StandardCharsets.ISO_8859_1);
+        return concat(ByteBuffer.allocate(4).putInt(8 + payload.length).array(), type4, payload);
+    }
+
+    private static byte[] syncsafe(int value) {
+        return new byte[] {(byte) ((value >> 21) & 0x7F), (byte) ((value >> 14) & 0x7F), (byte) ((value >> 7) & 0x7F), (byte) (value & 0x7F)};
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
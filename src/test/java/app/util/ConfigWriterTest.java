@@ -0,0 +1,60 @@
+package app.util;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigWriterTest {
+
+    @Test
+    void save_coalescesToNewestContent(@TempDir Path dir) throws IOException {
+        File file = dir.resolve("queue.json").toFile();
+        Files.writeString(file.toPath(), "old", StandardCharsets.UTF_8);
+
+        ConfigWriter.save(file, List.of("first"));
+        ConfigWriter.save(file, List.of("second"));
+        ConfigWriter.flush();
+
+        String written = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        assertTrue(written.contains("second"));
+        assertFalse(written.contains("first"));
+        assertFalse(new File(dir.toFile(), "queue.json.tmp").exists());
+    }
+
+    @Test
+    void saveNow_supersedesQueuedSave(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("settings.json").toFile();
+
+        ConfigWriter.saveText(file, "queued");
+        ConfigWriter.saveNowText(file, "immediate");
+        assertEquals("immediate", Files.readString(file.toPath(), StandardCharsets.UTF_8));
+
+        // the background write of the queued content must not overwrite it later
+        Thread.sleep(500);
+        ConfigWriter.flush();
+        assertEquals("immediate", Files.readString(file.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void save_writesStringsAsJson(@TempDir Path dir) throws IOException {
+        File file = dir.resolve("currentGame.json").toFile();
+
+        // a plain String must still go through the JSON overload, as currentGame.json is read back with Gson
+        ConfigWriter.save(file, "A Link to the Past");
+        ConfigWriter.flush();
+
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            assertEquals("A Link to the Past", new Gson().fromJson(reader, String.class));
+        }
+    }
+}
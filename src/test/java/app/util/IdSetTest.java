@@ -0,0 +1,88 @@
+package app.util;
+
+import app.player.Album;
+import app.player.AlbumConverter;
+import app.player.Song;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdSetTest {
+
+    private static List<Album> library() {
+        Album first = new Album("First", "standard");
+        first.addSong(new Song("Intro", "standard"));
+        first.addSong(new Song("Shared", "standard"));
+        Album second = new Album("Second", "standard");
+        second.addSong(new Song("Shared", "standard"));
+        second.addSong(new Song("Outro", "short"));
+
+        List<Album> albums = new ArrayList<>(List.of(first, second));
+        AlbumConverter.assignIds(albums);
+        return albums;
+    }
+
+    @Test
+    void add_setsEverySongSharingTheTitle() {
+        List<Album> albums = library();
+        IdSet unlocked = new IdSet(new AlbumLibrary(albums).getSongIds());
+
+        assertTrue(unlocked.add("Shared"));
+        assertFalse(unlocked.add("Shared"));
+
+        assertTrue(unlocked.containsId(albums.get(0).getSongs().get(1).getId()));
+        assertTrue(unlocked.containsId(albums.get(1).getSongs().get(0).getId()));
+        assertFalse(unlocked.containsId(albums.get(0).getSongs().get(0).getId()));
+        assertEquals(Set.of("Shared"), Set.copyOf(unlocked));
+        assertEquals(1, unlocked.size());
+    }
+
+    @Test
+    void addId_setsOnlyThatSong() {
+        List<Album> albums = library();
+        IdSet unlocked = new IdSet(new AlbumLibrary(albums).getSongIds());
+        int firstShared = albums.get(0).getSongs().get(1).getId();
+        int secondShared = albums.get(1).getSongs().get(0).getId();
+
+        assertTrue(unlocked.addId(secondShared));
+        assertFalse(unlocked.addId(secondShared));
+
+        assertTrue(unlocked.containsId(secondShared));
+        assertFalse(unlocked.containsId(firstShared));
+        assertTrue(unlocked.contains("Shared"));
+
+        assertTrue(unlocked.removeId(secondShared));
+        assertFalse(unlocked.contains("Shared"));
+    }
+
+    @Test
+    void setResolver_keepsNamesReceivedBeforeTheLibraryLoaded() {
+        IdSet unlocked = new IdSet(IdSet.EMPTY);
+        unlocked.add("Outro");
+        unlocked.add("Not In Library");
+        assertTrue(unlocked.contains("Outro"));
+
+        List<Album> albums = library();
+        unlocked.setResolver(new AlbumLibrary(albums).getSongIds());
+
+        assertTrue(unlocked.containsId(albums.get(1).getSongs().get(1).getId()));
+        assertTrue(unlocked.contains("Not In Library"));
+        assertEquals(Set.of("Outro", "Not In Library"), Set.copyOf(unlocked));
+    }
+
+    @Test
+    void remove_clearsBitsAndWorksThroughTheIterator() {
+        IdSet types = IdSet.interning();
+        types.add("standard");
+        types.add("short");
+
+        types.removeIf("short"::equals);
+
+        assertEquals(Set.of("standard"), Set.copyOf(types));
+        assertFalse(types.contains("short"));
+    }
+}
@@ -0,0 +1,41 @@
+package app.util;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageLogTest {
+
+    @Test
+    void append_keepsNewestLines_andReportsEvictions() {
+        MessageLog log = new MessageLog(3);
+        List<String> mirror = new ArrayList<>();
+        int[] changes = {0};
+        log.addListener((ListChangeListener<String>) change -> {
+            changes[0]++;
+            while (change.next()) {
+                mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                mirror.addAll(change.getFrom(), change.getAddedSubList());
+            }
+        });
+
+        log.append(List.of("a", "b"));
+        log.append(List.of("c", "d"));
+        assertEquals(List.of("b", "c", "d"), log);
+
+        log.append(List.of("e", "f", "g", "h"));
+        assertEquals(List.of("f", "g", "h"), log);
+
+        log.setCapacity(2);
+        assertEquals(List.of("g", "h"), log);
+        log.append("i");
+        assertEquals(List.of("h", "i"), log);
+
+        assertEquals(log, mirror);
+        assertEquals(5, changes[0]);
+    }
+}
@@ -0,0 +1,72 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NormalizationTest {
+
+    @Test
+    void boundedLevenshtein_matchesFullDistanceWithinLimit() {
+        String[][] pairs = {
+                {"love story", "love story (taylor's version)"},
+                {"Style", "style"},
+                {"All Too Well", "All Too Wel"},
+                {"Cardigan", "cardign"},
+                {"", "abc"},
+                {"willow", "the 1"},
+        };
+
+        for (String[] pair : pairs) {
+            int full = Normalization.levenshteinDistance(pair[0].toLowerCase(Locale.ROOT), pair[1].toLowerCase(Locale.ROOT));
+            for (int limit = 0; limit <= 6; limit++) {
+                int bounded = Normalization.levenshteinDistance(pair[0], pair[1], limit);
+                int expected = full <= limit ? full : limit + 1;
+                assertEquals(expected, bounded, pair[0] + " / " + pair[1] + " @ " + limit);
+            }
+        }
+    }
+
+    @Test
+    void boundedLevenshtein_agreesWithFullDistanceOnRandomInput() {
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            String a = randomWord(random);
+            String b = random.nextBoolean() ? mutate(a, random) : randomWord(random);
+            int full = Normalization.levenshteinDistance(a, b);
+            int bounded = Normalization.levenshteinDistance(a, b, 4);
+            assertEquals(full <= 4 ? full : 5, bounded, a + " / " + b);
+        }
+    }
+
+    @Test
+    void boundedLevenshtein_rejectsNegativeLimit() {
+        assertThrows(IllegalArgumentException.class, () -> Normalization.levenshteinDistance("same", "same", -1));
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(4)));
+        }
+        return sb.toString();
+    }
+
+    private static String mutate(String word, Random random) {
+        StringBuilder sb = new StringBuilder(word);
+        int edits = random.nextInt(5);
+        for (int i = 0; i < edits; i++) {
+            int pos = sb.length() == 0 ? 0 : random.nextInt(sb.length());
+            switch (random.nextInt(3)) {
+                case 0 -> sb.insert(pos, 'x');
+                case 1 -> { if (sb.length() > 0) sb.deleteCharAt(pos); }
+                default -> { if (sb.length() > 0) sb.setCharAt(pos, 'y'); }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package app.util;
+
+import app.player.Song;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleIndexTest {
+
+    @Test
+    void candidates_keepsCloseTitlesInOriginalOrder() {
+        Song cardigan = new Song("cardigan", "Folklore");
+        Song willow = new Song("willow", "Evermore");
+        Song allTooWell = new Song("All Too Well (10 Minute Version)", "Red");
+        TitleIndex index = new TitleIndex(List.of(cardigan, willow, allTooWell));
+
+        // Short keys keep every song of similar length, since they may share no trigram at all
+        assertEquals(List.of(cardigan, willow), index.candidates("Cardign", 4));
+        assertEquals(List.of(allTooWell), index.candidates("All Too Well (10 Minute Versio)", 4));
+        assertTrue(index.candidates("Anti-Hero (Acoustic Version)", 4).isEmpty());
+    }
+
+    @Test
+    void candidates_neverDropsASongWithinTheDistance() {
+        Random random = new Random(42);
+        String alphabet = "abcde fg";
+
+        for (int round = 0; round < 50; round++) {
+            List<Song> songs = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                songs.add(new Song(randomString(random, alphabet, random.nextInt(18)), "type"));
+            }
+            TitleIndex index = new TitleIndex(songs);
+
+            for (int query = 0; query < 20; query++) {
+                String key = randomString(random, alphabet, random.nextInt(18));
+                List<Song> candidates = index.candidates(key, 4);
+                for (Song song : songs) {
+                    if (Normalization.levenshteinDistance(key, song.getNormalizedTitle(), 4) <= 4) {
+                        assertTrue(candidates.contains(song), key + " should keep " + song.getNormalizedTitle());
+                    }
+                }
+            }
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}